@@ -1,209 +1,593 @@
 package Dispatcher;
 
+import IO.IOOperation;
 import IO.IORequest;
 import Manager.IOManager;
-import Manager.MemoryManager;
+import Manager.MemoryAllocator;
 import Process.Process;
 import Process.PCB;
-import Scheduler.RoundRobinScheduler;
 import Scheduler.Scheduler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.function.Supplier;
 
+// Simulación por eventos discretos: el reloj salta de un evento al siguiente.
+// Con varias CPUs todo corre en el hilo que llama a run(): una CPU libre puede robar de cualquier cola
+// y las llegadas, las E/S y la memoria liberada afectan a todas en el mismo instante, así que no hay
+// ventana en la que una CPU pueda adelantarse a las demás sin arriesgar un resultado distinto
 public class Dispatcher {
 
-    private Scheduler scheduler;
-    private MemoryManager memory;
+    // Cuándo compactar la memoria: nunca, al fallar una asignación que cabría en el total libre,
+    // o cuando la fragmentación externa supera un umbral tras liberar memoria
+    public enum CompactionPolicy { NEVER, ON_FAILURE, THRESHOLD }
+
+    // Una CPU simulada: su propia cola de listos y la porción en curso
+    private static class CPU {
+        final int id;
+        final Scheduler scheduler;
+
+        Process running;
+        int sliceStart;
+        int sliceLength;      // unidades de CPU previstas
+        int sliceDone;        // unidades ya ejecutadas (y descontadas al proceso)
+        int sliceCursor;      // instante en que terminó la última unidad ejecutada
+        int unitStall;        // fallos ya cobrados a la unidad siguiente, -1 si aún no empezó
+        int sliceStall;       // tiempo perdido en fallos de página en esta porción
+        boolean sliceEndsInIO;
+        boolean sliceEndsInAccess;
+        int sliceQuantum;     // porción concedida al proceso en esta vuelta
+        int sliceVersion = 0;
+
+        Process candidate;    // tomado de su cola, pendiente de memoria, o que sigue tras accesos sin fallos
+        int resumeQuantum;    // lo que le queda de porción a ese proceso que sigue; 0 = porción nueva
+        Process finished;     // porción cerrada que aún debe reencolarse, enviar su E/S o liberar memoria
+        int finishedRan;      // unidades que corrió en esa porción
+
+        int reservedUntil = 0; // ocupada compactando hasta este instante
+        int busyTime = 0;
+        int slices = 0;
+        int migrations = 0;   // procesos que llegaron aquí desde otra CPU
+        int steals = 0;
+
+        CPU(int id, Scheduler scheduler) {
+            this.id = id;
+            this.scheduler = scheduler;
+        }
+
+        int load() { return scheduler.size() + (running == null ? 0 : 1); }
+    }
+
+    private CPU[] cpus;
+    private MemoryAllocator memory;
     private IOManager ioManager;
     private int currentTime = 0;
 
+    private EventQueue events = new EventQueue();
+    private Set<Integer> scheduledIO = new HashSet<>(); // instantes con un IO_COMPLETION ya en la cola
+    private long eventsProcessed = 0;
+
     private Queue<Process> waitingForMemory = new LinkedList<>();
     private List<Process> completedProcesses = new ArrayList<>();
+    private int maxWaitingForMemory = 0;
+    private int memoryStallTime = 0;
+
+    private Process accessing;                                  // proceso cuyos accesos a archivos se ejecutan ahora
+    private Map<Integer, Integer> pendingDiskIO = new HashMap<>(); // E/S de disco en curso por PID
 
-    public Dispatcher(Scheduler scheduler, MemoryManager memory, IOManager ioManager) {
-        this.scheduler = scheduler;
+    private CompactionPolicy compactionPolicy = CompactionPolicy.NEVER;
+    private double fragmentationThreshold = 0.5;
+    private int compactionRate = 10; // unidades de memoria movidas por unidad de tiempo
+    private int compactions = 0;
+    private int compactionTime = 0;
+    private int unblockedByCompaction = 0;
+
+    public Dispatcher(Scheduler scheduler, MemoryAllocator memory, IOManager ioManager) {
+        this(() -> scheduler, 1, memory, ioManager);
+    }
+
+    // Multiprocesador: cada CPU recibe su propio planificador de la fábrica
+    public Dispatcher(Supplier<Scheduler> schedulers, int cpuCount, MemoryAllocator memory, IOManager ioManager) {
+        if (cpuCount < 1 || cpuCount > Long.SIZE) {
+            throw new IllegalArgumentException("El despachador admite entre 1 y " + Long.SIZE + " CPUs");
+        }
+        this.cpus = new CPU[cpuCount];
+        for (int i = 0; i < cpuCount; i++) {
+            cpus[i] = new CPU(i, schedulers.get());
+        }
         this.memory = memory;
         this.ioManager = ioManager;
     }
 
-    private void tryUnblockProcesses() {
+    // Registrar un proceso que entrará al planificador al llegar su tiempo de llegada
+    public void addProcess(Process p) {
+        PCB pcb = p.getPCB();
+        long allCpus = cpus.length == Long.SIZE ? -1L : (1L << cpus.length) - 1;
+        if ((pcb.getAffinity() & allCpus) == 0) {
+            throw new IllegalArgumentException("PID " + pcb.getPid() + " no puede correr en ninguna CPU");
+        }
+        events.schedule(new Event(pcb.getArrivalTime(), Event.Type.ARRIVAL, p, 0));
+    }
+
+    public void setCompactionPolicy(CompactionPolicy policy, double fragmentationThreshold, int compactionRate) {
+        this.compactionPolicy = policy;
+        this.fragmentationThreshold = fragmentationThreshold;
+        this.compactionRate = compactionRate;
+    }
+
+    // 'cpu' es la que hace el trabajo si hay que compactar
+    private boolean allocateMemory(PCB pcb, CPU cpu) {
+        int size = pcb.getMemoryRequired();
+        boolean ok = memory.allocate(pcb, size);
+
+        // Hay espacio suficiente pero está fragmentado: compactar y reintentar
+        if (!ok && compactionPolicy == CompactionPolicy.ON_FAILURE && memory.getFreeMemory() >= size) {
+            compactMemory(cpu);
+            ok = memory.allocate(pcb, size);
+            if (ok) unblockedByCompaction++;
+        }
+        return ok;
+    }
+
+    private void releaseMemory(PCB pcb) {
+        memory.free(pcb);
+        CPU cpu = cpus[pcb.getLastCpu()]; // la CPU donde terminó el proceso hace el trabajo
+
+        // Primero entran los que caben con lo liberado; solo se compacta si alguien sigue esperando,
+        // y a la compactación se le atribuyen únicamente los que entran después de ella
+        tryUnblockProcesses(cpu);
+        if (compactionPolicy == CompactionPolicy.THRESHOLD && !waitingForMemory.isEmpty() &&
+                memory.getExternalFragmentation() > fragmentationThreshold) {
+            compactMemory(cpu);
+            int before = waitingForMemory.size();
+            tryUnblockProcesses(cpu);
+            unblockedByCompaction += before - waitingForMemory.size();
+        }
+    }
+
+    // La CPU que compacta queda ocupada desde ahora (o desde que acabe una compactación anterior)
+    // hasta terminar; el despachador no le da otra porción antes
+    private void compactMemory(CPU cpu) {
+        int moved = memory.compact();
+        int cost = (moved + compactionRate - 1) / compactionRate;
+        int end = Math.max(currentTime, cpu.reservedUntil) + cost;
+        cpu.busyTime += end - Math.max(currentTime, cpu.reservedUntil);
+        cpu.reservedUntil = end;
+        compactionTime += cost;
+        compactions++;
+        if (end > currentTime) {
+            events.schedule(new Event(end, Event.Type.COMPACTION_END, null, cpu.id, 0));
+        }
+        System.out.println("🧹 " + tag(cpu) + "Compactación: " + moved + " unidades reubicadas (+" + cost +
+                " de tiempo, TIEMPO AHORA: " + end + ")");
+    }
+
+    private void tryUnblockProcesses(CPU cpu) {
         int size = waitingForMemory.size(); 
 
         for (int i = 0; i < size; i++) {
             Process p = waitingForMemory.poll();
             PCB pcb = p.getPCB();
 
-            boolean ok = memory.allocate(pcb, pcb.getMemoryRequired());
+            boolean ok = allocateMemory(pcb, cpu);
 
             if (ok) {
                 pcb.transitionTo(PCB.ProcessState.READY);
-                scheduler.requeue(p);
+                place(p).scheduler.requeue(p);
             } else {
                 waitingForMemory.add(p);
             }
         }
     }
 
-    private void handleIOCompletions() {
-        List<Process> completed = ioManager.getCompletedIO();
-        for (Process p : completed) {
-            p.getPCB().transitionTo(PCB.ProcessState.READY);
-            scheduler.requeue(p);
+    // Aviso de E/S completada: el proceso vuelve a estar listo
+    private void wakeFromIO(Process p) {
+        p.getPCB().transitionTo(PCB.ProcessState.READY);
+        place(p).scheduler.onIOComplete(p);
+    }
+
+    // CPU en la que se encola un proceso listo: la última en que corrió si su afinidad lo permite,
+    // si no la menos cargada
+    private CPU place(Process p) {
+        PCB pcb = p.getPCB();
+        int last = pcb.getLastCpu();
+        if (last != -1 && pcb.canRunOn(last)) return cpus[last];
+
+        CPU best = null;
+        for (CPU cpu : cpus) {
+            if (pcb.canRunOn(cpu.id) && (best == null || cpu.load() < best.load())) {
+                best = cpu;
+            }
         }
+        return best;
     }
 
-    public void runFCFS() {
+    // Programar el próximo evento de E/S (fin de operación o vencimiento de lote) si aún no está en la cola
+    private void scheduleIO() {
+        int next = ioManager.nextEventTime();
+        if (next != -1 && scheduledIO.add(next)) {
+            events.schedule(new Event(next, Event.Type.IO_COMPLETION, null, 0));
+        }
+    }
+
+    public void run() {
+        String name = cpus[0].scheduler.getName();
+        if (cpus.length > 1) name += " EN " + cpus.length + " CPUs";
+        System.out.println("\n⏱️  INICIANDO PROGRAMACION DE " + name + "...\n");
+
+        simulate();
+    }
+
+    // Bucle de eventos: el planificador decide el orden, la porción de tiempo y las expropiaciones
+    private void simulate() {
         currentTime = 0;
+        advanceSchedulers();
+        dispatch();
+
+        while (!events.isEmpty()) {
+            currentTime = events.peekTime();
+            // Antes de encolar nada en este instante: las claves (envejecimiento) usan la hora de encolado
+            advanceSchedulers();
+            endSlices();
+
+            // Atender todos los eventos de este instante antes de decidir quién usa la CPU
+            while (!events.isEmpty() && events.peekTime() == currentTime) {
+                handle(events.poll());
+                eventsProcessed++;
+            }
 
-        System.out.println("\n⏱️  Iniciando la programación de FCFS...\n");
+            dispatch();
+        }
 
-        while (scheduler.hasProcess() || !waitingForMemory.isEmpty() || ioManager.hasPendingIO()) {
+        if (!waitingForMemory.isEmpty()) {
+            System.out.println("⚠️  " + waitingForMemory.size() + " procesos nunca obtuvieron memoria");
+        }
 
-            // Procesar cualquier operación de E/S completada
-            ioManager.processIO();
-            handleIOCompletions();
+        printStatistics();
+    }
+
+    private void advanceSchedulers() {
+        for (CPU cpu : cpus) {
+            cpu.scheduler.onTimeAdvance(currentTime);
+        }
+    }
 
-            tryUnblockProcesses();
+    private void handle(Event e) {
+        switch (e.getType()) {
+            case ARRIVAL:
+                System.out.println("📥 PID " + e.getProcess().getPCB().getPid() + " LLEGA (TIEMPO AHORA: " + currentTime + ")");
+                place(e.getProcess()).scheduler.addProcess(e.getProcess());
+                checkPreemption();
+                break;
+
+            case IO_COMPLETION:
+                // Las E/S que terminan aquí despiertan a sus procesos a través de sus futuros
+                scheduledIO.remove(e.getTime());
+                ioManager.advanceTo(currentTime);
+                scheduleIO();
+                checkPreemption();
+                break;
+
+            case COMPACTION_END:
+                // La CPU vuelve a estar disponible; el reparto de después la ocupa
+                break;
+
+            case MEMORY_RELEASE:
+                releaseMemory(e.getProcess().getPCB());
+                checkPreemption();
+                break;
+        }
+    }
 
-            if (!scheduler.hasProcess()) {
-                currentTime++; // CPU inactiva
-                continue;
+    // Cada CPU libre toma primero de su propia cola; las que siguen libres roban trabajo de otras.
+    // Todas eligen antes de que ninguna robe, para que una CPU no se lleve el siguiente de otra.
+    // Una CPU que está compactando no recibe nada hasta su COMPACTION_END
+    private void dispatch() {
+        for (CPU cpu : cpus) {
+            if (idle(cpu) && cpu.candidate == null && cpu.scheduler.hasProcess()) {
+                cpu.candidate = cpu.scheduler.getNextProcess();
             }
+        }
 
-            Process p = scheduler.getNextProcess();
-            PCB pcb = p.getPCB();
+        // Asignar memoria y arrancar en orden de CPU
+        for (CPU cpu : cpus) {
+            Process p = cpu.candidate;
+            cpu.candidate = null;
 
-            // Asignar memoria si es necesario
-            if (!pcb.hasMemory()) {
-                boolean ok = memory.allocate(pcb, pcb.getMemoryRequired());
-                if (!ok) {
-                    System.out.println("⚠️  PID " + pcb.getPid() + " ESPERANDO POR MEMORIA");
-                    pcb.transitionTo(PCB.ProcessState.WAITING);
-                    waitingForMemory.add(p);
-                    continue;
+            // Si compacta para un proceso que aun así no cabe, deja de repartir en esta CPU
+            while (idle(cpu)) {
+                if (p == null) {
+                    p = cpu.scheduler.hasProcess() ? cpu.scheduler.getNextProcess() : steal(cpu);
+                    if (p == null) break;
                 }
+                start(cpu, p);
+                p = null;
             }
+            cpu.candidate = p;
+        }
+    }
 
-            pcb.transitionTo(PCB.ProcessState.RUNNING);
-            pcb.markFirstRun(currentTime);
+    private boolean idle(CPU cpu) {
+        return cpu.running == null && cpu.reservedUntil <= currentTime;
+    }
 
-            // Comprobar si el proceso debe solicitar E/S a mitad de camino
-            if (p.shouldRequestIO() && p.hasIORequest()) {
-                // Ejecutar hasta el punto de solicitud de E/S
-                int timeUntilIO = pcb.getRemainingTime() / 2;
-                p.runFor(timeUntilIO);
-                currentTime += timeUntilIO;
+    // Robo de trabajo: la CPU libre toma un proceso de la cola más larga que admita su afinidad
+    private Process steal(CPU thief) {
+        CPU[] victims = cpus.clone();
+        Arrays.sort(victims, Comparator.comparingInt((CPU cpu) -> cpu.scheduler.size()).reversed());
+
+        for (CPU victim : victims) {
+            if (victim.scheduler.size() == 0) break;
+            if (victim == thief) continue;
+
+            Process p = victim.scheduler.steal(q -> q.getPCB().canRunOn(thief.id));
+            if (p != null) {
+                thief.steals++;
+                System.out.println("🔀 " + tag(thief) + "ROBA PID " + p.getPCB().getPid() +
+                        " DE CPU " + victim.id + " (TIEMPO AHORA: " + currentTime + ")");
+                thief.scheduler.acceptStolen(p);
+                return thief.scheduler.getNextProcess();
+            }
+        }
+        return null;
+    }
 
-                System.out.println("🔄 PID " + pcb.getPid() + " CORRIO POR " + timeUntilIO +
-                        " (TIEMPO AHORA: " + currentTime + ")");
+    private void start(CPU cpu, Process p) {
+        PCB pcb = p.getPCB();
 
-                // Enviar solicitud de E/S
-                IORequest ioReq = p.getNextIORequest();
-                ioManager.submitRequest(ioReq, p);
+        // Asignar memoria si es necesario
+        if (!pcb.hasMemory()) {
+            boolean ok = allocateMemory(pcb, cpu);
+            if (!ok) {
+                System.out.println("⚠️  PID " + pcb.getPid() + " ESPERANDO POR MEMORIA");
                 pcb.transitionTo(PCB.ProcessState.WAITING);
-
-                continue; // El proceso se reprogramará después de la E/S
+                waitingForMemory.add(p);
+                maxWaitingForMemory = Math.max(maxWaitingForMemory, waitingForMemory.size());
+                return;
             }
+        }
 
-            // Correr hasta el final
-            int time = pcb.getRemainingTime();
-            p.runFor(time);
-            currentTime += time;
-
-            System.out.println("✓ PID " + pcb.getPid() + " CORRIO POR " + time +
-                    " (TIEMPO AHORA: " + currentTime + ")");
-
-            pcb.transitionTo(PCB.ProcessState.TERMINATED);
-            pcb.markCompletion(currentTime);
-            memory.free(pcb);
-
-            completedProcesses.add(p);
-            tryUnblockProcesses();
+        if (pcb.getState() != PCB.ProcessState.RUNNING) {
+            pcb.transitionTo(PCB.ProcessState.RUNNING);
         }
+        pcb.markFirstRun(currentTime);
+        if (pcb.getLastCpu() != -1 && pcb.getLastCpu() != cpu.id) {
+            cpu.migrations++;
+        }
+        pcb.setLastCpu(cpu.id);
 
-        printStatistics();
-    }
+        int quantum = cpu.resumeQuantum > 0 ? cpu.resumeQuantum : cpu.scheduler.getTimeSlice(p);
+        cpu.resumeQuantum = 0;
+        int slice = Math.min(quantum, pcb.getRemainingTime());
 
-    public void runRoundRobin(RoundRobinScheduler rr) {
-        currentTime = 0;
+        // Si el próximo acceso a archivos o la próxima E/S cae dentro de la porción, la porción termina ahí;
+        // a igual desplazamiento va primero el acceso
+        int untilAccess = p.getTimeUntilFileAccess();
+        int untilIO = p.getTimeUntilIO();
+        boolean access = untilAccess != -1 && untilAccess <= slice && (untilIO == -1 || untilAccess <= untilIO);
+        boolean io = !access && untilIO != -1 && untilIO <= slice;
 
-        System.out.println("\n⏱️  INICIANDO PROGRAMACION DE Round Robin (Quantum: " + rr.getQuantum() + ")...\n");
+        cpu.sliceQuantum = quantum;
+        startSlice(cpu, p, access ? untilAccess : io ? untilIO : slice, io, access);
+    }
 
-        while (rr.hasProcess() || !waitingForMemory.isEmpty() || ioManager.hasPendingIO()) {
+    private void startSlice(CPU cpu, Process p, int length, boolean endsInIO, boolean endsInAccess) {
+        // Si la propia CPU acaba de compactar para hacerle sitio, el proceso empieza al terminar
+        cpu.running = p;
+        cpu.sliceStart = Math.max(currentTime, cpu.reservedUntil);
+        cpu.sliceLength = length;
+        cpu.sliceDone = 0;
+        cpu.sliceCursor = cpu.sliceStart;
+        cpu.unitStall = -1;
+        cpu.sliceStall = 0;
+        cpu.sliceEndsInIO = endsInIO;
+        cpu.sliceEndsInAccess = endsInAccess;
+        cpu.sliceVersion++;
+        cpu.slices++;
+
+        scheduleSliceEnd(cpu);
+    }
 
-            // Finalizaciones de E/S de proceso
-            ioManager.processIO();
-            handleIOCompletions();
+    // Fin previsto suponiendo que no hay más fallos de página; si los hay, al llegar se vuelve a programar
+    private void scheduleSliceEnd(CPU cpu) {
+        int left = cpu.sliceLength - cpu.sliceDone;
+        events.schedule(new Event(cpu.sliceCursor + Math.max(cpu.unitStall, 0) + left, Event.Type.SLICE_END,
+                cpu.running, cpu.id, cpu.sliceVersion));
+    }
 
-            tryUnblockProcesses();
+    // Ejecutar las unidades de la porción que caben hasta ahora y devolver cuántas lleva. Los fallos de página
+    // de cada unidad se cobran cuando empieza, así que una porción expropiada solo paga las páginas que tocó
+    private int settle(CPU cpu) {
+        Process p = cpu.running;
+        if (!memory.hasAccessCost()) {
+            int ran = Math.max(0, Math.min(cpu.sliceLength - cpu.sliceDone, currentTime - cpu.sliceCursor));
+            p.runFor(ran);
+            cpu.sliceDone += ran;
+            cpu.sliceCursor += ran;
+            return cpu.sliceDone;
+        }
 
-            if (!rr.hasProcess()) {
-                currentTime++; // CPU inactiva
-                continue;
+        while (cpu.sliceDone < cpu.sliceLength && cpu.sliceCursor < currentTime) {
+            if (cpu.unitStall == -1) {
+                cpu.unitStall = memory.access(p.getPCB(), 1);
+                cpu.sliceStall += cpu.unitStall;
+                memoryStallTime += cpu.unitStall;
             }
+            int end = cpu.sliceCursor + cpu.unitStall + 1;
+            if (end > currentTime) break;
 
-            Process p = rr.getNextProcess();
-            PCB pcb = p.getPCB();
+            p.runFor(1);
+            cpu.sliceDone++;
+            cpu.sliceCursor = end;
+            cpu.unitStall = -1;
+        }
+        return cpu.sliceDone;
+    }
 
-            // Memory allocation
-            if (!pcb.hasMemory()) {
-                boolean ok = memory.allocate(pcb, pcb.getMemoryRequired());
-                if (!ok) {
-                    System.out.println("⚠️  PID " + pcb.getPid() + " ESPERANDO POR MEMORIA ");
-                    pcb.transitionTo(PCB.ProcessState.WAITING);
-                    waitingForMemory.add(p);
+    // Cerrar a la vez las porciones que terminan en este instante y luego atenderlas en orden de CPU.
+    // Las CPU comparten memoria, E/S y reloj: cualquier fin de porción puede cambiar lo que ven las demás
+    // en ese mismo instante, así que la simulación avanza en un único hilo
+    private void endSlices() {
+        List<CPU> due = new ArrayList<>();
+        while (!events.isEmpty() && events.peekTime() == currentTime && events.peekType() == Event.Type.SLICE_END) {
+            Event e = events.poll();
+            eventsProcessed++;
+
+            // Las porciones expropiadas dejan su evento en la cola; se descarta
+            CPU cpu = cpus[e.getCpu()];
+            if (cpu.running != null && e.getVersion() == cpu.sliceVersion) {
+                // Los fallos de página retrasaron la porción: sigue hasta el nuevo fin previsto
+                if (settle(cpu) < cpu.sliceLength) {
+                    scheduleSliceEnd(cpu);
                     continue;
                 }
+                finishSlice(cpu);
+                due.add(cpu);
             }
+        }
 
-            pcb.transitionTo(PCB.ProcessState.RUNNING);
-            pcb.markFirstRun(currentTime);
+        for (CPU cpu : due) {
+            afterSlice(cpu);
+        }
+    }
 
-            int slice = Math.min(rr.getQuantum(), pcb.getRemainingTime());
+    // Solo la contabilidad de la CPU: cuánto corrió el proceso y que la CPU queda libre
+    private void finishSlice(CPU cpu) {
+        cpu.finishedRan = settle(cpu);
+        cpu.finished = cpu.running;
+        cpu.running = null;
+        cpu.busyTime += Math.max(0, currentTime - cpu.sliceStart);
+    }
 
-            // Comprueba si se debe solicitar E/S durante este segmento
-            if (p.shouldRequestIO() && p.hasIORequest()) {
-                // Ejecutar una porción parcial antes de la E/S
-                int timeBeforeIO = Math.min(slice, 1); // Utilice 1 unidad de tiempo antes de E/S
-                p.runFor(timeBeforeIO);
-                currentTime += timeBeforeIO;
+    // Mensajes, cambios de estado y lo que toca estado compartido tras cerrar la porción
+    private void afterSlice(CPU cpu) {
+        Process p = cpu.finished;
+        PCB pcb = p.getPCB();
+        int ran = cpu.finishedRan;
+        cpu.finished = null;
+        reportStall(cpu, pcb);
+
+        if (cpu.sliceEndsInAccess && accessFiles(cpu, p, ran)) return;
+
+        if (cpu.sliceEndsInIO) {
+            System.out.println("🔄 " + tag(cpu) + "PID " + pcb.getPid() + " CORRIO POR " + ran +
+                    " ANTES DE E/S (TIEMPO AHORA: " + currentTime + ")");
+
+            // Enviar solicitud de E/S; el proceso se reprogramará después de la E/S
+            IORequest ioReq = p.getNextIORequest();
+            pcb.transitionTo(PCB.ProcessState.WAITING);
+            ioManager.submitRequest(ioReq, p, currentTime).thenAccept(done -> wakeFromIO(p));
+            scheduleIO();
+            return;
+        }
 
-                System.out.println("🔄 PID " + pcb.getPid() + " CORRIO POR " + timeBeforeIO +
-                        " ANTES DE E/S (TIEMPO AHORA: " + currentTime + ")");
+        System.out.println("✓ " + tag(cpu) + "PID " + pcb.getPid() + " SE EJECUTO PARA UN SEGEMENTO " + ran +
+                " (TIEMPO AHORA: " + currentTime + ", RESTANTE: " + pcb.getRemainingTime() + ")");
 
-                // Enviar solicitud de E/S
-                IORequest ioReq = p.getNextIORequest();
-                ioManager.submitRequest(ioReq, p);
-                pcb.transitionTo(PCB.ProcessState.WAITING);
+        // Comprobar si ha terminado
+        if (pcb.getRemainingTime() == 0) {
+            pcb.transitionTo(PCB.ProcessState.TERMINATED);
+            pcb.markCompletion(currentTime);
+            completedProcesses.add(p);
+            events.schedule(new Event(currentTime, Event.Type.MEMORY_RELEASE, p, 0));
+        } else {
+            // Not finished, requeue
+            pcb.transitionTo(PCB.ProcessState.READY);
+            cpu.scheduler.onSliceExpired(p);
+        }
+    }
 
-                continue;
+    // El proceso hace los accesos a archivos de este punto de su ráfaga. Si alguno falló en la caché
+    // espera al disco; si todos acertaron sigue en la CPU con lo que le quedaba de porción.
+    // false si no queda porción o ráfaga y la porción se cierra como cualquier otra
+    private boolean accessFiles(CPU cpu, Process p, int ran) {
+        PCB pcb = p.getPCB();
+        System.out.println("📂 " + tag(cpu) + "PID " + pcb.getPid() + " CORRIO POR " + ran +
+                " ANTES DE ACCEDER A ARCHIVOS (TIEMPO AHORA: " + currentTime + ")");
+
+        accessing = p;
+        try {
+            while (p.getTimeUntilFileAccess() == 0) {
+                p.getNextFileAccess().run();
             }
+        } finally {
+            accessing = null;
+        }
 
-            // Ejecución normal
-            p.runFor(slice);
-            currentTime += slice;
-
-            System.out.println("✓ PID " + pcb.getPid() + " SE EJECUTO PARA UN SEGEMENTO " + slice +
-                    " (TIEMPO AHORA: " + currentTime + ", RESTANTE: " + pcb.getRemainingTime() + ")");
+        if (pendingDiskIO.containsKey(pcb.getPid())) {
+            pcb.transitionTo(PCB.ProcessState.WAITING);
+            scheduleIO();
+            return true;
+        }
+        if (pcb.getRemainingTime() > 0 && cpu.sliceQuantum > ran) {
+            cpu.candidate = p;
+            cpu.resumeQuantum = cpu.sliceQuantum - ran;
+            return true;
+        }
+        return false;
+    }
 
-            // Comprobar si ha terminado
-            if (pcb.getRemainingTime() == 0) {
-                pcb.transitionTo(PCB.ProcessState.TERMINATED);
-                pcb.markCompletion(currentTime);
-                memory.free(pcb);
-                completedProcesses.add(p);
-                tryUnblockProcesses();
-            } else {
-                // Not finished, requeue
-                pcb.transitionTo(PCB.ProcessState.READY);
-                rr.requeue(p);
+    // Destino de las E/S reales de una caché de bloques (ver FileSystem.setCache). Durante un acceso a archivos
+    // cada una se envía al disco en el acto a nombre del proceso que accede; fuera de ellos no se cobran
+    public void diskIO(IOOperation operation, int block, int bytes, int duration) {
+        if (accessing == null) return;
+
+        Process p = accessing;
+        int pid = p.getPCB().getPid();
+        pendingDiskIO.merge(pid, 1, Integer::sum);
+        IORequest req = new IORequest(pid, "DISK", duration, operation, bytes, block);
+        ioManager.submitRequest(req, p, currentTime).thenAccept(done -> {
+            // Despierta cuando termina la última
+            if (pendingDiskIO.computeIfPresent(pid, (k, n) -> n == 1 ? null : n - 1) == null) {
+                wakeFromIO(p);
             }
+        });
+    }
+
+    // Un proceso pasó a listo: con un planificador expropiativo puede expulsar al que corre
+    private void checkPreemption() {
+        for (CPU cpu : cpus) {
+            checkPreemption(cpu);
         }
+    }
 
-        printStatistics();
+    private void checkPreemption(CPU cpu) {
+        if (cpu.running == null || !cpu.scheduler.isPreemptive()) return;
+
+        int ran = settle(cpu);
+        if (ran == cpu.sliceLength || !cpu.scheduler.shouldPreempt(cpu.running)) return;
+
+        Process p = cpu.running;
+        PCB pcb = p.getPCB();
+        cpu.running = null;
+        cpu.sliceVersion++; // cancela el SLICE_END pendiente
+        reportStall(cpu, pcb);
+        cpu.busyTime += Math.max(0, currentTime - cpu.sliceStart);
+
+        System.out.println("⏏️  " + tag(cpu) + "PID " + pcb.getPid() + " EXPROPIADO TRAS " + ran +
+                " (TIEMPO AHORA: " + currentTime + ", RESTANTE: " + pcb.getRemainingTime() + ")");
+        pcb.transitionTo(PCB.ProcessState.READY);
+        cpu.scheduler.requeue(p);
+    }
+
+    private void reportStall(CPU cpu, PCB pcb) {
+        if (cpu.sliceStall > 0) {
+            System.out.println("📄 " + tag(cpu) + "PID " + pcb.getPid() + " perdió " + cpu.sliceStall +
+                    " de tiempo en fallos de página");
+        }
+    }
+
+    // Prefijo de los mensajes de una CPU cuando hay más de una
+    private String tag(CPU cpu) {
+        return cpus.length > 1 ? "[CPU " + cpu.id + "] " : "";
     }
 
     private void printStatistics() {
@@ -240,6 +624,34 @@ public class Dispatcher {
             System.out.printf("Promedio:\t\t\t\t%.2f\t\t%.2f\t%.2f\n", 
                     avgTurnaround / n, avgWaiting / n, avgResponse / n);
         }
+        memory.printStatistics();
+        System.out.println("Máximo de procesos esperando por memoria: " + maxWaitingForMemory);
+        if (memoryStallTime > 0) {
+            System.out.println("Tiempo perdido en fallos de página: " + memoryStallTime);
+        }
+        System.out.println("Eventos procesados: " + eventsProcessed);
+        ioManager.printStatistics(currentTime);
+        if (cpus.length > 1) {
+            printCpuStatistics();
+        }
+        if (compactions > 0) {
+            System.out.println("Compactaciones: " + compactions + " (tiempo " + compactionTime +
+                    "), procesos desbloqueados: " + unblockedByCompaction);
+        }
         System.out.println("=".repeat(70) + "\n");
     }
-}
\ No newline at end of file
+
+    private void printCpuStatistics() {
+        System.out.println("-".repeat(70));
+        System.out.println("CPU\tUso\tPorciones\tMigraciones\tRobos");
+
+        int migrations = 0;
+        for (CPU cpu : cpus) {
+            double usage = currentTime == 0 ? 0 : 100.0 * cpu.busyTime / currentTime;
+            System.out.printf("%d\t%.1f%%\t%d\t\t%d\t\t%d\n",
+                    cpu.id, usage, cpu.slices, cpu.migrations, cpu.steals);
+            migrations += cpu.migrations;
+        }
+        System.out.println("Migraciones totales: " + migrations);
+    }
+}
@@ -0,0 +1,136 @@
+package Dispatcher;
+
+import Manager.FirstFitAllocator;
+import Manager.IOManager;
+import Manager.MemoryManager;
+import Manager.PagedMemoryManager;
+import Memory.LRUReplacement;
+import Process.PCB;
+import Process.Process;
+import Scheduler.PriorityScheduler;
+import Scheduler.RoundRobinScheduler;
+import Scheduler.SRTFScheduler;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Comprobaciones del despachador sobre escenarios pequeños con resultado conocido:
+//   java Dispatcher.DispatcherCheck
+// Los mensajes de la simulación se descartan; solo se informa del resultado de cada comprobación
+public class DispatcherCheck {
+
+    public static void main(String[] args) {
+        agingUsesEnqueueTime();
+        pageFaultsOnlyForTimeRun();
+        pagingGeometry();
+        compactionOnReleasingCpu();
+    }
+
+    // PID 1 ocupa la CPU hasta 100 mientras llegan los demás. Con intervalo 10 la clave es
+    // prioridad * 10 + instante de encolado: 3 (prio 2, t=10) = 30, 4 (prio 1, t=25) = 35,
+    // 5 y 6 (prio 3, t=30 y t=60) = 60 y 90, 2 (prio 9, t=9) = 99.
+    // Si la clave usara la hora del evento anterior, 4 (10 + 10) adelantaría a 3 (20 + 9)
+    private static void agingUsesEnqueueTime() {
+        Process[] processes = {
+                process(1, 0, 100, 0),
+                process(2, 9, 1, 9),
+                process(3, 10, 1, 2),
+                process(4, 25, 1, 1),
+                process(5, 30, 1, 3),
+                process(6, 60, 1, 3),
+        };
+        Dispatcher d = new Dispatcher(new PriorityScheduler(10), new MemoryManager(1000), new IOManager());
+        for (Process p : processes) {
+            d.addProcess(p);
+        }
+        quietly(d::run);
+
+        int[] order = Arrays.stream(processes)
+                .sorted(Comparator.comparingInt((Process p) -> p.getPCB().getCompletionTime()))
+                .mapToInt(p -> p.getPCB().getPid())
+                .toArray();
+        expect("Envejecimiento con la hora de encolado", new int[] {1, 3, 4, 5, 6, 2}, order);
+    }
+
+    // Paginación con 5 páginas por proceso y fallo de coste 1. PID 1 (ráfaga 20) empieza con el fallo de la página 0
+    // y PID 2 lo expropia en t=1, antes de que corra ninguna unidad: solo ha pagado esa página.
+    // PID 2 falla una vez y termina en 3; PID 1 vuelve, falla en las páginas 1-4 y termina en 3 + 20 + 4 = 27.
+    // Cobrando la porción entera al empezar, PID 1 habría pagado las 5 páginas en la porción expropiada
+    private static void pageFaultsOnlyForTimeRun() {
+        Process p1 = process(1, 0, 20, 0, 40);
+        Process p2 = process(2, 1, 1, 0, 8);
+        Dispatcher d = new Dispatcher(new SRTFScheduler(),
+                new PagedMemoryManager(64, 8, 4, new LRUReplacement(), 1), new IOManager());
+        d.addProcess(p1);
+        d.addProcess(p2);
+        quietly(d::run);
+
+        expect("Fallos de página solo del tiempo ejecutado", new int[] {27, 3},
+                new int[] {p1.getPCB().getCompletionTime(), p2.getPCB().getCompletionTime()});
+    }
+
+    // Una memoria menor que una página no tiene marcos
+    private static void pagingGeometry() {
+        try {
+            new PagedMemoryManager(4, 8, 4, new LRUReplacement(), 1);
+        } catch (IllegalArgumentException expected) {
+            System.out.println("Geometría sin marcos rechazada: correcto");
+            return;
+        }
+        throw new IllegalStateException("Se aceptó una memoria de 4 unidades con páginas de 8");
+    }
+
+    // Dos CPUs, round robin de 1 y 100 unidades con first-fit: 1, 2 y 3 ocupan [0-29], [30-49] y [50-79]
+    // y 4 (40 unidades) espera. En t=3 termina 2 en la CPU 1: los huecos suman 40 pero están separados,
+    // así que la CPU 1 compacta 30 unidades (coste 3) hasta t=6 y no roba ni arranca nada mientras tanto.
+    // 4 corre en la CPU 1 en 6-7 y 7-8. Cuando el coste quedaba pendiente para la siguiente porción que
+    // empezara, lo pagaba la CPU 0 y 4 arrancaba en t=3 como si compactar no costara nada
+    private static void compactionOnReleasingCpu() {
+        Process[] processes = {
+                process(1, 0, 10, 0, 30),
+                process(2, 0, 3, 0, 20),
+                process(3, 0, 10, 0, 30),
+                process(4, 1, 2, 0, 40),
+        };
+        Dispatcher d = new Dispatcher(() -> new RoundRobinScheduler(1), 2, new FirstFitAllocator(100), new IOManager());
+        d.setCompactionPolicy(Dispatcher.CompactionPolicy.THRESHOLD, 0.3, 10);
+        for (Process p : processes) {
+            d.addProcess(p);
+        }
+        quietly(d::run);
+
+        PCB pcb = processes[3].getPCB();
+        expect("Compactación cobrada en su instante y CPU", new int[] {6, 8, 1},
+                new int[] {pcb.getArrivalTime() + pcb.getResponseTime(), pcb.getCompletionTime(), pcb.getLastCpu()});
+    }
+
+    private static Process process(int pid, int arrival, int burst, int priority) {
+        return process(pid, arrival, burst, priority, 10);
+    }
+
+    private static Process process(int pid, int arrival, int burst, int priority, int memory) {
+        Process p = new Process(pid, arrival, burst, memory);
+        p.getPCB().setPriority(priority);
+        return p;
+    }
+
+    private static void expect(String name, int[] expected, int[] actual) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException(name + ": se esperaba " + Arrays.toString(expected) +
+                    " y salió " + Arrays.toString(actual));
+        }
+        System.out.println(name + ": correcto");
+    }
+
+    private static void quietly(Runnable simulation) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            simulation.run();
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
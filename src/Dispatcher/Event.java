@@ -0,0 +1,34 @@
+package Dispatcher;
+
+import Process.Process;
+
+public class Event {
+
+    // A igual instante se atienden en este orden: primero termina la porción en curso, la CPU que compactaba
+    // queda libre y se libera memoria, después llegan las E/S completadas y los procesos nuevos
+    public enum Type { SLICE_END, COMPACTION_END, MEMORY_RELEASE, IO_COMPLETION, ARRIVAL }
+
+    private int time;
+    private Type type;
+    private Process process;
+    private int cpu;     // CPU de un SLICE_END o COMPACTION_END
+    private int version; // porción a la que pertenece un SLICE_END, para descartar los cancelados
+
+    public Event(int time, Type type, Process process, int version) {
+        this(time, type, process, 0, version);
+    }
+
+    public Event(int time, Type type, Process process, int cpu, int version) {
+        this.time = time;
+        this.type = type;
+        this.process = process;
+        this.cpu = cpu;
+        this.version = version;
+    }
+
+    public int getTime() { return time; }
+    public Type getType() { return type; }
+    public Process getProcess() { return process; }
+    public int getCpu() { return cpu; }
+    public int getVersion() { return version; }
+}
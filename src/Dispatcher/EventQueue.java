@@ -0,0 +1,41 @@
+package Dispatcher;
+
+import java.util.PriorityQueue;
+
+// Cola de eventos ordenada por (tiempo, tipo, orden de inserción)
+public class EventQueue {
+
+    private static class Entry implements Comparable<Entry> {
+        Event event;
+        long sequence;
+
+        Entry(Event event, long sequence) {
+            this.event = event;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            if (event.getTime() != o.event.getTime()) return Integer.compare(event.getTime(), o.event.getTime());
+            if (event.getType() != o.event.getType()) return event.getType().compareTo(o.event.getType());
+            return Long.compare(sequence, o.sequence);
+        }
+    }
+
+    private PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private long sequence = 0;
+
+    public void schedule(Event event) {
+        queue.add(new Entry(event, sequence++));
+    }
+
+    public Event poll() {
+        Entry e = queue.poll();
+        return e == null ? null : e.event;
+    }
+
+    public int peekTime() { return queue.peek().event.getTime(); }
+    public Event.Type peekType() { return queue.peek().event.getType(); }
+    public boolean isEmpty() { return queue.isEmpty(); }
+    public int size() { return queue.size(); }
+}
@@ -0,0 +1,101 @@
+package File;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+// Adaptive Replacement Cache (Megiddo y Modha): T1 guarda lo visto una vez y T2 lo reutilizado; las listas
+// fantasma B1 y B2 recuerdan lo desalojado de cada una y mueven el objetivo 'p' de T1 hacia quien más acierta.
+// Un recorrido secuencial solo pasa por T1 y no expulsa el conjunto de trabajo de T2
+public class ARCCachePolicy implements CachePolicy {
+    private static final int T1 = 0;
+    private static final int T2 = 1;
+
+    // T1 y T2 son ranuras; B1 y B2, números de bloque que ya no están en la caché (solo se tocan en los fallos)
+    private SlotLists resident;
+    private int[] blockOf;
+    private LinkedHashSet<Integer> b1 = new LinkedHashSet<>();
+    private LinkedHashSet<Integer> b2 = new LinkedHashSet<>();
+    private int capacity;
+    private int p = 0;           // tamaño objetivo de T1
+    private boolean loadIntoT2;  // el bloque que se está cargando venía de una lista fantasma
+
+    @Override
+    public String getName() { return "ARC"; }
+
+    @Override
+    public void init(int slots) {
+        this.capacity = slots;
+        this.p = 0;
+        this.resident = new SlotLists(slots, 2);
+        this.blockOf = new int[slots];
+        b1.clear();
+        b2.clear();
+    }
+
+    public int getTarget() { return p; }
+
+    @Override
+    public void onHit(int slot) { resident.append(T2, slot); }
+
+    @Override
+    public int selectVictim(int block, boolean full) {
+        int t1 = resident.size(T1);
+        int t2 = resident.size(T2);
+
+        if (b1.remove(block)) {
+            // Se desalojó de T1 demasiado pronto: dar más sitio a lo reciente
+            p = Math.min(capacity, p + Math.max(b2.size() / (b1.size() + 1), 1));
+            loadIntoT2 = true;
+            return full ? replace(false) : -1;
+        }
+        if (b2.remove(block)) {
+            // Se desalojó de T2 demasiado pronto: dar más sitio a lo frecuente
+            p = Math.max(0, p - Math.max(b1.size() / (b2.size() + 1), 1));
+            loadIntoT2 = true;
+            return full ? replace(true) : -1;
+        }
+
+        loadIntoT2 = false;
+        if (t1 + b1.size() >= capacity) {
+            if (t1 < capacity) {
+                removeOldest(b1);
+                return full ? replace(false) : -1;
+            }
+            return resident.removeHead(T1);
+        }
+        int total = t1 + t2 + b1.size() + b2.size();
+        if (total >= capacity) {
+            if (total >= 2 * capacity) removeOldest(b2);
+            return full ? replace(false) : -1;
+        }
+        return -1;
+    }
+
+    @Override
+    public void onLoad(int slot, int block) {
+        blockOf[slot] = block;
+        resident.append(loadIntoT2 ? T2 : T1, slot);
+    }
+
+    @Override
+    public void onRemove(int slot) { resident.unlink(slot); }
+
+    // Desalojar de T1 si supera su objetivo, si no de T2; el bloque pasa a la lista fantasma correspondiente
+    private int replace(boolean inB2) {
+        int t1 = resident.size(T1);
+        if (t1 > 0 && (t1 > p || (inB2 && t1 == p) || resident.size(T2) == 0)) {
+            int victim = resident.removeHead(T1);
+            b1.add(blockOf[victim]);
+            return victim;
+        }
+        int victim = resident.removeHead(T2);
+        b2.add(blockOf[victim]);
+        return victim;
+    }
+
+    private static void removeOldest(LinkedHashSet<Integer> ghosts) {
+        Iterator<Integer> it = ghosts.iterator();
+        it.next();
+        it.remove();
+    }
+}
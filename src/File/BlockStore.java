@@ -0,0 +1,26 @@
+package File;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Almacenamiento de los bloques de datos del volumen: en memoria o en una imagen proyectada
+public interface BlockStore {
+    int getBlockSize();
+
+    void read(int block, int offset, byte[] dst, int dstOffset, int length);
+
+    void write(int block, int offset, byte[] src, int srcOffset, int length);
+
+    // Igual que las anteriores, desde/hacia la posición actual del búfer, que avanza 'length' bytes
+    void read(int block, int offset, ByteBuffer dst, int length);
+
+    void write(int block, int offset, ByteBuffer src, int length);
+
+    // Vista sin copia del bloque, de getBlockSize() bytes
+    ByteBuffer view(int block);
+
+    // Poner a cero bloques liberados para que quien los reutilice no lea datos viejos
+    void clear(int start, int count);
+
+    default void close() throws IOException {}
+}
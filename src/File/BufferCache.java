@@ -0,0 +1,271 @@
+package File;
+
+import IO.IOOperation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+// Caché de bloques entre la API de archivos y el almacenamiento: las escrituras quedan sucias en memoria
+// y llegan al almacenamiento al desalojarse o en flush(). Cada lectura o escritura real del almacenamiento
+// se avisa a 'diskAccess' para que el sistema de archivos la cobre como E/S de disco.
+// Todo va en arrays indexados por ranura, así que un acierto no reserva memoria
+public class BufferCache implements BlockStore {
+    private final BlockStore backing;
+    private final int capacity;
+    private final CachePolicy policy;
+    private final BiConsumer<IOOperation, Integer> diskAccess;
+
+    // Ranuras: bloque cargado (-1 si está libre), datos y si está sucio
+    private final int[] slotBlock;
+    private final byte[][] slotData;
+    private final boolean[] slotDirty;
+    private final int[] freeSlots;
+    private int freeCount;
+    private int dirtyCount = 0;
+
+    // Índice bloque → ranura con direccionamiento abierto y sondeo lineal; tamaño potencia de dos, ocupación ≤ 1/2
+    private final int[] indexBlock;
+    private final int[] indexSlot;
+    private final int indexMask;
+    private final int indexShift;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long writeBacks = 0;
+    private long flushes = 0;
+
+    public BufferCache(BlockStore backing, int capacity, CachePolicy policy,
+                       BiConsumer<IOOperation, Integer> diskAccess) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("Capacidad de caché no válida: " + capacity);
+        }
+        this.backing = backing;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.diskAccess = diskAccess;
+
+        slotBlock = new int[capacity];
+        slotData = new byte[capacity][];
+        slotDirty = new boolean[capacity];
+        freeSlots = new int[capacity];
+        Arrays.fill(slotBlock, -1);
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+
+        int indexSize = Integer.highestOneBit(capacity) << 2;
+        indexBlock = new int[indexSize];
+        indexSlot = new int[indexSize];
+        indexMask = indexSize - 1;
+        indexShift = 32 - Integer.numberOfTrailingZeros(indexSize);
+        Arrays.fill(indexBlock, -1);
+
+        policy.init(capacity);
+    }
+
+    public BlockStore getBacking() { return backing; }
+    public int getCapacity() { return capacity; }
+    public String getPolicyName() { return policy.getName(); }
+    public int getCachedBlocks() { return capacity - freeCount; }
+    public int getDirtyBlocks() { return dirtyCount; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getWriteBacks() { return writeBacks; }
+    public long getFlushes() { return flushes; }
+
+    public double getHitRate() {
+        long accesses = hits + misses;
+        return accesses == 0 ? 0 : (double) hits / accesses;
+    }
+
+    @Override
+    public int getBlockSize() { return backing.getBlockSize(); }
+
+    @Override
+    public void read(int block, int offset, byte[] dst, int dstOffset, int length) {
+        System.arraycopy(slotData[slot(block, true)], offset, dst, dstOffset, length);
+    }
+
+    @Override
+    public void write(int block, int offset, byte[] src, int srcOffset, int length) {
+        // Sobrescribir el bloque entero no necesita leerlo antes
+        int slot = slot(block, offset != 0 || length != getBlockSize());
+        System.arraycopy(src, srcOffset, slotData[slot], offset, length);
+        markDirty(slot);
+    }
+
+    @Override
+    public void read(int block, int offset, ByteBuffer dst, int length) {
+        dst.put(slotData[slot(block, true)], offset, length);
+    }
+
+    @Override
+    public void write(int block, int offset, ByteBuffer src, int length) {
+        int slot = slot(block, offset != 0 || length != getBlockSize());
+        src.get(slotData[slot], offset, length);
+        markDirty(slot);
+    }
+
+    // La vista puede modificarse, así que el bloque se da por sucio
+    @Override
+    public ByteBuffer view(int block) {
+        int slot = slot(block, true);
+        markDirty(slot);
+        return ByteBuffer.wrap(slotData[slot]);
+    }
+
+    // Los bloques liberados salen de la caché sin escribirse
+    @Override
+    public void clear(int start, int count) {
+        if (count < capacity) {
+            for (int block = start; block < start + count; block++) {
+                int slot = find(block);
+                if (slot != -1) invalidate(slot);
+            }
+        } else {
+            for (int slot = 0; slot < capacity; slot++) {
+                int block = slotBlock[slot];
+                if (block >= start && block < start + count) invalidate(slot);
+            }
+        }
+        backing.clear(start, count);
+    }
+
+    // Escribir todos los bloques sucios en orden de bloque; siguen en la caché, ya limpios
+    public void flush() {
+        flushes++;
+        if (dirtyCount == 0) return;
+
+        int[] blocks = new int[dirtyCount];
+        int n = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (slotDirty[slot]) blocks[n++] = slotBlock[slot];
+        }
+        Arrays.sort(blocks);
+        for (int block : blocks) {
+            int slot = find(block);
+            writeBack(slot);
+            slotDirty[slot] = false;
+        }
+        dirtyCount = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        backing.close();
+    }
+
+    private int slot(int block, boolean load) {
+        int slot = find(block);
+        if (slot != -1) {
+            hits++;
+            policy.onHit(slot);
+            return slot;
+        }
+
+        misses++;
+        int victim = policy.selectVictim(block, freeCount == 0);
+        if (victim != -1) {
+            evictions++;
+            if (slotDirty[victim]) {
+                writeBack(victim);
+                slotDirty[victim] = false;
+                dirtyCount--;
+            }
+            unindex(slotBlock[victim]);
+            slot = victim; // se reutiliza el búfer del desalojado
+        } else {
+            slot = freeSlots[--freeCount];
+            if (slotData[slot] == null) slotData[slot] = new byte[getBlockSize()];
+        }
+
+        if (load) {
+            backing.read(block, 0, slotData[slot], 0, slotData[slot].length);
+            diskAccess.accept(IOOperation.READ, block);
+        }
+        slotBlock[slot] = block;
+        index(block, slot);
+        policy.onLoad(slot, block);
+        return slot;
+    }
+
+    private void markDirty(int slot) {
+        if (!slotDirty[slot]) {
+            slotDirty[slot] = true;
+            dirtyCount++;
+        }
+    }
+
+    private void writeBack(int slot) {
+        backing.write(slotBlock[slot], 0, slotData[slot], 0, slotData[slot].length);
+        writeBacks++;
+        diskAccess.accept(IOOperation.WRITE, slotBlock[slot]);
+    }
+
+    private void invalidate(int slot) {
+        if (slotDirty[slot]) {
+            slotDirty[slot] = false;
+            dirtyCount--;
+        }
+        unindex(slotBlock[slot]);
+        slotBlock[slot] = -1;
+        policy.onRemove(slot);
+        freeSlots[freeCount++] = slot;
+    }
+
+    // Hash de Fibonacci: los bits altos del producto reparten bien bloques consecutivos
+    private int home(int block) {
+        return (block * 0x9E3779B9) >>> indexShift;
+    }
+
+    private int find(int block) {
+        for (int i = home(block); indexBlock[i] != -1; i = (i + 1) & indexMask) {
+            if (indexBlock[i] == block) return indexSlot[i];
+        }
+        return -1;
+    }
+
+    private void index(int block, int slot) {
+        int i = home(block);
+        while (indexBlock[i] != -1) {
+            i = (i + 1) & indexMask;
+        }
+        indexBlock[i] = block;
+        indexSlot[i] = slot;
+    }
+
+    // Borrado con desplazamiento hacia atrás: las entradas que siguen se recolocan para no dejar huecos en su sondeo
+    private void unindex(int block) {
+        int i = home(block);
+        while (indexBlock[i] != block) {
+            i = (i + 1) & indexMask;
+        }
+        int j = i;
+        while (true) {
+            j = (j + 1) & indexMask;
+            if (indexBlock[j] == -1) break;
+            int h = home(indexBlock[j]);
+            // La entrada de j puede ocupar el hueco i si su posición ideal no está en (i, j]
+            if (((j - h) & indexMask) >= ((j - i) & indexMask)) {
+                indexBlock[i] = indexBlock[j];
+                indexSlot[i] = indexSlot[j];
+                i = j;
+            }
+        }
+        indexBlock[i] = -1;
+    }
+
+    public void printStatistics() {
+        System.out.println("\n=== Caché de bloques (" + policy.getName() + ", " + capacity + " bloques) ===");
+        System.out.println("Aciertos: " + hits + " | Fallos: " + misses +
+                String.format(" | Tasa de aciertos: %.1f%%", getHitRate() * 100));
+        System.out.println("Desalojos: " + evictions + " | Escrituras diferidas: " + writeBacks +
+                " | Vaciados: " + flushes + " | Sucios ahora: " + dirtyCount);
+    }
+}
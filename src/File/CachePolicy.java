@@ -0,0 +1,12 @@
+package File;
+
+// Política de reemplazo de la caché de bloques. Como las de marcos de memoria, trabaja con las ranuras
+// de la caché; solo recibe el número de bloque al cargarlo, para las que recuerdan bloques ya desalojados
+public interface CachePolicy {
+    String getName();
+    void init(int slots);
+    void onHit(int slot);                      // se referenció la ranura
+    int selectVictim(int block, boolean full); // se va a cargar 'block': ranura a desalojar si está llena, si no -1
+    void onLoad(int slot, int block);          // 'block' quedó cargado en la ranura
+    void onRemove(int slot);                   // la ranura quedó libre sin desalojo (bloque liberado)
+}
@@ -0,0 +1,9 @@
+package File;
+
+import IO.IOOperation;
+
+// Destino de las E/S de disco reales de la caché (fallos y escrituras diferidas): quien monta la caché
+// decide a quién se cobran, el sistema de archivos solo informa del bloque, los bytes y la duración
+public interface DiskIOSink {
+    void diskIO(IOOperation operation, int block, int bytes, int duration);
+}
@@ -1,22 +1,89 @@
 package File;
 
+import java.util.Arrays;
+
+// Metadatos de un archivo al estilo de un inodo: tamaño y lista de extensiones de bloques contiguos
 public class FileDescriptor {
     private String fileName;
     private int size;
-    private int startBlock;
     private boolean isOpen;
 
-    public FileDescriptor(String fileName, int size, int startBlock) {
+    // Extensión i: bloques físicos [starts[i], starts[i] + lengths[i]), a partir del bloque lógico offsets[i]
+    private int[] starts = new int[2];
+    private int[] lengths = new int[2];
+    private int[] offsets = new int[2];
+    private int extentCount = 0;
+    private int blockCount = 0;
+
+    public FileDescriptor(String fileName, int size) {
         this.fileName = fileName;
         this.size = size;
-        this.startBlock = startBlock;
         this.isOpen = false;
     }
 
     public String getFileName() { return fileName; }
     public int getSize() { return size; }
-    public int getStartBlock() { return startBlock; }
+    public int getStartBlock() { return extentCount == 0 ? -1 : starts[0]; }
     public boolean isOpen() { return isOpen; }
     public void open() { this.isOpen = true; }
     public void close() { this.isOpen = false; }
-}
\ No newline at end of file
+
+    public int getBlockCount() { return blockCount; }
+    public int getExtentCount() { return extentCount; }
+    public int getExtentStart(int i) { return starts[i]; }
+    public int getExtentLength(int i) { return lengths[i]; }
+    public int getExtentOffset(int i) { return offsets[i]; }
+
+    // Primer bloque físico libre tras el final del archivo, para intentar crecer en su sitio
+    int getEndBlock() {
+        return extentCount == 0 ? -1 : starts[extentCount - 1] + lengths[extentCount - 1];
+    }
+
+    void setSize(int size) { this.size = size; }
+
+    // Añadir bloques al final; si continúan la última extensión, la alargan
+    void addExtent(int start, int length) {
+        if (extentCount > 0 && getEndBlock() == start) {
+            lengths[extentCount - 1] += length;
+        } else {
+            if (extentCount == starts.length) {
+                starts = Arrays.copyOf(starts, extentCount * 2);
+                lengths = Arrays.copyOf(lengths, extentCount * 2);
+                offsets = Arrays.copyOf(offsets, extentCount * 2);
+            }
+            starts[extentCount] = start;
+            lengths[extentCount] = length;
+            offsets[extentCount] = blockCount;
+            extentCount++;
+        }
+        blockCount += length;
+    }
+
+    // Quitar 'count' bloques del final de la última extensión
+    void shrinkLastExtent(int count) {
+        lengths[extentCount - 1] -= count;
+        blockCount -= count;
+        if (lengths[extentCount - 1] == 0) extentCount--;
+    }
+
+    // Extensión que contiene el bloque lógico 'block' (búsqueda binaria)
+    public int extentOf(int block) {
+        int lo = 0;
+        int hi = extentCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= block) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    // Bloque físico del bloque lógico 'block'
+    public int blockAt(int block) {
+        int e = extentOf(block);
+        return starts[e] + block - offsets[e];
+    }
+}
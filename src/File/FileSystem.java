@@ -1,119 +1,387 @@
 package File;
 
-import java.util.Arrays;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
-public class FileSystem {
+public class FileSystem implements Closeable {
     private static final int BLOCK_SIZE = 64; // bytes por bloque
-    private static final int TOTAL_BLOCKS = 16;
+    private static final int DEFAULT_BLOCKS = 16;
+    private static final int BLOCK_IO_TIME = 2; // duración de una E/S de bloque si el disco no la modela
 
-    private byte[][] disk = new byte[TOTAL_BLOCKS][BLOCK_SIZE];
-    private boolean[] freeBlocks = new boolean[TOTAL_BLOCKS];
+    private BlockStore store;
+    private ImageVolume image;      // null si el volumen vive solo en memoria
+    private BufferCache cache;      // null sin caché de bloques
+    private FreeSpaceMap freeSpace;
     private Map<String, FileDescriptor> fileTable = new HashMap<>();
 
     public FileSystem() {
+        this(DEFAULT_BLOCKS);
+    }
+
+    public FileSystem(int totalBlocks) {
         // Inicializar todos los bloques como libres
-        Arrays.fill(freeBlocks, true);
+        this.freeSpace = new FreeSpaceMap(totalBlocks);
+        this.store = new HeapBlockStore(totalBlocks, BLOCK_SIZE);
+    }
+
+    private FileSystem(ImageVolume image, FreeSpaceMap freeSpace) {
+        this.store = image;
+        this.image = image;
+        this.freeSpace = freeSpace;
     }
 
+    // Crear una imagen nueva, vacía y montada
+    public static FileSystem format(Path path, int totalBlocks) throws IOException {
+        ImageVolume image = ImageVolume.format(path, totalBlocks, BLOCK_SIZE);
+        FileSystem fs = new FileSystem(image, new FreeSpaceMap(totalBlocks));
+        fs.sync();
+        System.out.println("Imagen formateada " + path.getFileName() + " (" + totalBlocks + " bloques)");
+        return fs;
+    }
+
+    // Montar una imagen existente: solo se leen el mapa de bits y la tabla de archivos, los datos se paginan al usarlos
+    public static FileSystem mount(Path path) throws IOException {
+        ImageVolume image = ImageVolume.open(path);
+        try {
+            if (image.getBlockSize() != BLOCK_SIZE) {
+                throw new IOException("Tamaño de bloque " + image.getBlockSize() + " no soportado");
+            }
+            FileSystem fs = new FileSystem(image, image.loadFreeSpace());
+            image.loadFileTable(fs.fileTable);
+            System.out.println("Imagen montada " + path.getFileName() + " (" + fs.fileTable.size() + " archivos, " +
+                    fs.getFreeBlocks() + " de " + fs.getTotalBlocks() + " bloques libres)");
+            return fs;
+        } catch (IOException | RuntimeException e) {
+            image.close();
+            throw e;
+        }
+    }
+
+    public boolean isPersistent() { return image != null; }
+
+    // Poner una caché de bloques delante del almacenamiento (capacidad 0 = quitarla); la anterior se vacía antes
+    public void setCache(int capacity, CachePolicy policy) {
+        setCache(capacity, policy, null);
+    }
+
+    // Igual, pero cada lectura o escritura real del almacenamiento se entrega a 'sink' (null = no se cobra a nadie).
+    // Las escrituras del vaciado de la caché anterior van a su propio destino
+    public void setCache(int capacity, CachePolicy policy, DiskIOSink sink) {
+        if (cache != null) {
+            cache.flush();
+            store = cache.getBacking();
+            cache = null;
+        }
+        if (capacity > 0) {
+            cache = new BufferCache(store, capacity, policy, sink == null ? (operation, block) -> { } :
+                    (operation, block) -> sink.diskIO(operation, block, BLOCK_SIZE, BLOCK_IO_TIME));
+            store = cache;
+        }
+    }
+
+    public BufferCache getCache() { return cache; }
+
+    // Vaciar la caché y guardar los metadatos en la imagen
+    public void sync() throws IOException {
+        if (cache != null) {
+            cache.flush();
+        }
+        if (image != null) {
+            image.sync(freeSpace, fileTable.values());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        (cache != null ? cache.getBacking() : store).close();
+    }
+
+    public int getTotalBlocks() { return freeSpace.getTotalBlocks(); }
+    public int getFreeBlocks() { return freeSpace.getFreeBlocks(); }
+
     public boolean createFile(String fileName, int size) {
         if (fileTable.containsKey(fileName)) {
             System.out.println("El archivo " + fileName + " ya existe");
             return false;
         }
 
-        int blocksNeeded = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
-        int startBlock = findContiguousBlocks(blocksNeeded);
-
-        if (startBlock == -1) {
+        FileDescriptor fd = new FileDescriptor(fileName, size);
+        if (!reserve(fd, blocksFor(size))) {
             System.out.println("Espacio insuficiente para el archivo " + fileName);
             return false;
         }
-
-        // Asignar bloques
-        for (int i = startBlock; i < startBlock + blocksNeeded; i++) {
-            freeBlocks[i] = false;
-        }
-
-        FileDescriptor fd = new FileDescriptor(fileName, size, startBlock);
         fileTable.put(fileName, fd);
 
-        System.out.println("Archivo creado " + fileName + " (" + size + " bytes) en el bloque " + startBlock);
+        System.out.println("Archivo creado " + fileName + " (" + size + " bytes)" +
+                (fd.getExtentCount() > 0 ? " en el bloque " + fd.getStartBlock() : "") +
+                (fd.getExtentCount() > 1 ? " (" + fd.getExtentCount() + " extensiones)" : ""));
         return true;
     }
 
-    private int findContiguousBlocks(int count) {
-        for (int i = 0; i <= TOTAL_BLOCKS - count; i++) {
-            boolean found = true;
-            for (int j = i; j < i + count; j++) {
-                if (!freeBlocks[j]) {
-                    found = false;
-                    break;
-                }
-            }
-            if (found) return i;
+    public boolean deleteFile(String fileName) {
+        FileDescriptor fd = fileTable.get(fileName);
+        if (fd == null) {
+            System.out.println("Archivo " + fileName + " no encontrado");
+            return false;
+        }
+        if (fd.isOpen()) {
+            System.out.println("El archivo " + fileName + " está abierto");
+            return false;
         }
-        return -1;
+
+        int blocks = fd.getBlockCount();
+        release(fd, 0);
+        fileTable.remove(fileName);
+
+        System.out.println("Archivo eliminado " + fileName + " (" + blocks + " bloques liberados)");
+        return true;
     }
 
     public boolean writeFile(String fileName, byte[] data) {
-        FileDescriptor fd = fileTable.get(fileName);
-        if (fd == null) {
-            System.out.println("Archivo " + fileName + " no encontrado");
+        FileDescriptor fd = openDescriptor(fileName);
+        if (fd == null) return false;
+
+        // Escribe desde el principio; si los datos no caben, el archivo crece
+        if (!reserve(fd, blocksFor(data.length))) {
+            System.out.println("Espacio insuficiente para el archivo " + fileName);
             return false;
         }
+        transfer(fd, 0, ByteBuffer.wrap(data), data.length, true);
+        fd.setSize(Math.max(fd.getSize(), data.length));
 
-        if (!fd.isOpen()) {
-            System.out.println("El archivo " + fileName + " no está abierto");
+        System.out.println("Escritos " + data.length + " bytes en " + fileName);
+        return true;
+    }
+
+    public boolean appendFile(String fileName, byte[] data) {
+        FileDescriptor fd = openDescriptor(fileName);
+        if (fd == null) return false;
+
+        int newSize = fd.getSize() + data.length;
+        if (!reserve(fd, blocksFor(newSize))) {
+            System.out.println("Espacio insuficiente para el archivo " + fileName);
             return false;
         }
+        transfer(fd, fd.getSize(), ByteBuffer.wrap(data), data.length, true);
+        fd.setSize(newSize);
 
-        int blocksNeeded = (data.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
-        int startBlock = fd.getStartBlock();
+        System.out.println("Añadidos " + data.length + " bytes a " + fileName + " (" + newSize + " bytes)");
+        return true;
+    }
+
+    public boolean truncateFile(String fileName, int newSize) {
+        FileDescriptor fd = openDescriptor(fileName);
+        if (fd == null) return false;
+        if (newSize < 0) throw new IllegalArgumentException("Tamaño negativo: " + newSize);
 
-        for (int i = 0; i < blocksNeeded; i++) {
-            int offset = i * BLOCK_SIZE;
-            int length = Math.min(BLOCK_SIZE, data.length - offset);
-            System.arraycopy(data, offset, disk[startBlock + i], 0, length);
+        if (newSize > fd.getSize()) {
+            // Crecer: los bloques nuevos se leen como ceros
+            if (!reserve(fd, blocksFor(newSize))) {
+                System.out.println("Espacio insuficiente para el archivo " + fileName);
+                return false;
+            }
+        } else {
+            release(fd, blocksFor(newSize));
+            // Borrar la cola del último bloque para que un crecimiento posterior lea ceros
+            int tail = newSize % BLOCK_SIZE;
+            if (tail != 0) {
+                store.write(fd.blockAt(newSize / BLOCK_SIZE), tail, new byte[BLOCK_SIZE - tail], 0, BLOCK_SIZE - tail);
+            }
         }
+        fd.setSize(newSize);
 
-        System.out.println("Escritos " + data.length + " bytes en " + fileName);
+        System.out.println("Truncado " + fileName + " a " + newSize + " bytes (" + fd.getBlockCount() + " bloques)");
         return true;
     }
 
     public byte[] readFile(String fileName) {
+        FileDescriptor fd = openDescriptor(fileName);
+        if (fd == null) return null;
+
+        byte[] data = new byte[fd.getSize()];
+        transfer(fd, 0, ByteBuffer.wrap(data), data.length, false);
+
+        System.out.println("Leídos " + data.length + " bytes de " + fileName);
+        return data;
+    }
+
+    private FileDescriptor openDescriptor(String fileName) {
         FileDescriptor fd = fileTable.get(fileName);
         if (fd == null) {
             System.out.println("Archivo " + fileName + " no encontrado");
             return null;
         }
-
         if (!fd.isOpen()) {
             System.out.println("El archivo " + fileName + " no está abierto");
             return null;
         }
+        return fd;
+    }
 
-        byte[] data = new byte[fd.getSize()];
-        int blocksNeeded = (fd.getSize() + BLOCK_SIZE - 1) / BLOCK_SIZE;
-        int startBlock = fd.getStartBlock();
+    private static int blocksFor(int bytes) {
+        return (bytes + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    // Ampliar el archivo hasta 'blocks' bloques: primero en su sitio, luego con extensiones nuevas
+    private boolean reserve(FileDescriptor fd, int blocks) {
+        int missing = blocks - fd.getBlockCount();
+        if (missing <= 0) return true;
+        if (missing > freeSpace.getFreeBlocks()) return false;
 
-        for (int i = 0; i < blocksNeeded; i++) {
-            int offset = i * BLOCK_SIZE;
-            int length = Math.min(BLOCK_SIZE, fd.getSize() - offset);
-            System.arraycopy(disk[startBlock + i], 0, data, offset, length);
+        if (fd.getExtentCount() > 0) {
+            int end = fd.getEndBlock();
+            int taken = freeSpace.allocateAt(end, missing);
+            if (taken > 0) {
+                fd.addExtent(end, taken);
+                missing -= taken;
+            }
+        }
+        while (missing > 0) {
+            long run = freeSpace.allocateRun(missing);
+            int start = (int) run;
+            int length = (int) (run >>> 32);
+            fd.addExtent(start, length);
+            missing -= length;
         }
+        return true;
+    }
 
-        System.out.println("Leídos " + data.length + " bytes de " + fileName);
-        return data;
+    // Devolver al mapa de libres los bloques a partir del bloque lógico 'keep'
+    private void release(FileDescriptor fd, int keep) {
+        while (fd.getBlockCount() > keep) {
+            int last = fd.getExtentCount() - 1;
+            int length = fd.getExtentLength(last);
+            int count = Math.min(length, fd.getBlockCount() - keep);
+            int start = fd.getExtentStart(last) + length - count;
+
+            store.clear(start, count);
+            freeSpace.free(start, count);
+            fd.shrinkLastExtent(count);
+        }
+    }
+
+    // Copiar 'length' bytes entre el búfer y el archivo a partir del byte 'offset', recorriendo las extensiones
+    private void transfer(FileDescriptor fd, int offset, ByteBuffer buffer, int length, boolean write) {
+        if (length == 0) return;
+
+        int logical = offset / BLOCK_SIZE;
+        int within = offset % BLOCK_SIZE;
+        int e = fd.extentOf(logical);
+        int inExtent = logical - fd.getExtentOffset(e);
+
+        while (length > 0) {
+            int physical = fd.getExtentStart(e) + inExtent;
+            int n = Math.min(length, BLOCK_SIZE - within);
+            if (write) {
+                store.write(physical, within, buffer, n);
+            } else {
+                store.read(physical, within, buffer, n);
+            }
+            length -= n;
+            within = 0;
+            if (++inExtent == fd.getExtentLength(e)) {
+                e++;
+                inExtent = 0;
+            }
+        }
+    }
+
+    // E/S posicional sobre el descriptor que devuelve openFile: sin búsqueda por nombre, sin mensajes y
+    // sin reservar memoria, para poder recorrer archivos grandes reutilizando el mismo búfer.
+    // Leer devuelve los bytes copiados, o -1 si 'position' está al final del archivo
+    public int read(FileDescriptor fd, int position, ByteBuffer dst) {
+        checkAccess(fd, position);
+        if (!dst.hasRemaining()) return 0;
+        if (position >= fd.getSize()) return -1;
+
+        int length = Math.min(dst.remaining(), fd.getSize() - position);
+        transfer(fd, position, dst, length, false);
+        return length;
     }
 
-    public boolean openFile(String fileName) {
+    // Escribir todo lo que queda en 'src'; el archivo crece si hace falta y el hueco que quede se lee como ceros
+    public int write(FileDescriptor fd, int position, ByteBuffer src) {
+        checkAccess(fd, position);
+        int length = src.remaining();
+        grow(fd, position, length);
+        transfer(fd, position, src, length, true);
+        return length;
+    }
+
+    // Scatter: llenar los búferes en orden con datos consecutivos del archivo
+    public long read(FileDescriptor fd, int position, ByteBuffer[] dsts) {
+        checkAccess(fd, position);
+        long total = 0;
+        for (ByteBuffer dst : dsts) {
+            int n = read(fd, position, dst);
+            if (n < 0) break;
+            position += n;
+            total += n;
+        }
+        return total == 0 && position >= fd.getSize() && hasRemaining(dsts) ? -1 : total;
+    }
+
+    // Gather: escribir los búferes uno tras otro como un único bloque de datos
+    public long write(FileDescriptor fd, int position, ByteBuffer[] srcs) {
+        checkAccess(fd, position);
+        long total = 0;
+        for (ByteBuffer src : srcs) {
+            total += src.remaining();
+        }
+        if (position + total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El archivo superaría " + Integer.MAX_VALUE + " bytes");
+        }
+        grow(fd, position, (int) total);
+        for (ByteBuffer src : srcs) {
+            int n = src.remaining();
+            transfer(fd, position, src, n, true);
+            position += n;
+        }
+        return total;
+    }
+
+    private void checkAccess(FileDescriptor fd, int position) {
+        if (!fd.isOpen()) {
+            throw new IllegalStateException("El archivo " + fd.getFileName() + " no está abierto");
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("Posición negativa: " + position);
+        }
+    }
+
+    // Reservar antes de copiar nada para que una escritura sin espacio no quede a medias
+    private void grow(FileDescriptor fd, int position, int length) {
+        long end = (long) position + length;
+        if (end > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El archivo superaría " + Integer.MAX_VALUE + " bytes");
+        }
+        if (end > fd.getSize()) {
+            if (!reserve(fd, blocksFor((int) end))) {
+                throw new IllegalStateException("Espacio insuficiente para el archivo " + fd.getFileName());
+            }
+            fd.setSize((int) end);
+        }
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer b : buffers) {
+            if (b.hasRemaining()) return true;
+        }
+        return false;
+    }
+
+    // Devuelve el descriptor para la E/S posicional, o null si el archivo no existe
+    public FileDescriptor openFile(String fileName) {
         FileDescriptor fd = fileTable.get(fileName);
-        if (fd == null) return false;
+        if (fd == null) return null;
         fd.open();
         System.out.println("Archivo abierto " + fileName);
-        return true;
+        return fd;
     }
 
     public boolean closeFile(String fileName) {
@@ -128,9 +396,11 @@ public class FileSystem {
         System.out.println("\n--- Sistema de Archivos ---");
         for (FileDescriptor fd : fileTable.values()) {
             System.out.println("  " + fd.getFileName() + ": " + fd.getSize() +
-                    " bytes, bloque " + fd.getStartBlock() +
+                    " bytes, bloque " + fd.getStartBlock() + ", " + fd.getExtentCount() + " extensiones" +
                     (fd.isOpen() ? " [ABIERTO]" : " [CERRADO]"));
         }
+        System.out.println("Libres: " + freeSpace.getFreeBlocks() + " de " + freeSpace.getTotalBlocks() +
+                " bloques en " + freeSpace.getFreeRuns() + " extensiones (mayor: " + freeSpace.getLargestFreeRun() + ")");
         System.out.println("-------------------\n");
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package File;
+
+import java.nio.LongBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Espacio libre del sistema de archivos: mapa de bits (1 = libre) empaquetado en long[] y, derivado de él,
+// un árbol de extensiones libres para encontrar huecos contiguos en O(log n)
+public class FreeSpaceMap {
+    private final int totalBlocks;
+    private final long[] bitmap;
+    private int freeBlocks = 0;
+
+    // Extensiones libres: por inicio (inicio → longitud) y por tamaño (longitud << 32 | inicio)
+    private TreeMap<Integer, Integer> runsByStart = new TreeMap<>();
+    private TreeSet<Long> runsBySize = new TreeSet<>();
+
+    public FreeSpaceMap(int totalBlocks) {
+        if (totalBlocks <= 0) {
+            throw new IllegalArgumentException("El volumen necesita al menos un bloque");
+        }
+        this.totalBlocks = totalBlocks;
+        this.bitmap = new long[bitmapWords(totalBlocks)];
+        setRange(0, totalBlocks, true);
+        rebuild();
+    }
+
+    // Cargar el mapa de bits guardado en una imagen; las extensiones se reconstruyen a partir de él
+    public static FreeSpaceMap readFrom(LongBuffer in, int totalBlocks) {
+        FreeSpaceMap map = new FreeSpaceMap(totalBlocks);
+        in.get(0, map.bitmap);
+        if ((totalBlocks & 63) != 0) {
+            map.bitmap[map.bitmap.length - 1] &= -1L >>> (64 - (totalBlocks & 63));
+        }
+        map.rebuild();
+        return map;
+    }
+
+    public void writeTo(LongBuffer out) {
+        out.put(0, bitmap);
+    }
+
+    public static int bitmapWords(int totalBlocks) {
+        return (totalBlocks + 63) >>> 6;
+    }
+
+    public int getTotalBlocks() { return totalBlocks; }
+    public int getFreeBlocks() { return freeBlocks; }
+    public int getFreeRuns() { return runsByStart.size(); }
+
+    public int getLargestFreeRun() {
+        return runsBySize.isEmpty() ? 0 : (int) (runsBySize.last() >>> 32);
+    }
+
+    public boolean isFree(int block) {
+        return (bitmap[block >>> 6] >>> block & 1) != 0;
+    }
+
+    // Best-fit: la extensión libre más pequeña que basta (a igual tamaño, la de menor bloque);
+    // devuelve el primer bloque o -1 si no hay hueco contiguo suficiente
+    public int allocate(int count) {
+        if (count <= 0) return 0;
+
+        Long fit = runsBySize.ceiling((long) count << 32);
+        if (fit == null) return -1;
+
+        int start = (int) (long) fit;
+        int length = (int) (fit >>> 32);
+        removeRun(start, length);
+        if (length > count) addRun(start + count, length - count);
+
+        setRange(start, count, false);
+        return start;
+    }
+
+    // Para archivos que crecen por trozos: el hueco de best-fit si alguno basta, si no la mayor extensión libre.
+    // Devuelve (longitud << 32 | inicio), o -1 si no queda espacio
+    public long allocateRun(int max) {
+        if (runsBySize.isEmpty() || max <= 0) return -1;
+
+        Long fit = runsBySize.ceiling((long) max << 32);
+        long run = fit != null ? fit : runsBySize.last();
+        int start = (int) run;
+        int length = (int) (run >>> 32);
+        int taken = Math.min(length, max);
+
+        removeRun(start, length);
+        if (length > taken) addRun(start + taken, length - taken);
+        setRange(start, taken, false);
+        return (long) taken << 32 | start;
+    }
+
+    // Alargar en su sitio: tomar hasta 'max' bloques si 'start' empieza una extensión libre; devuelve cuántos
+    public int allocateAt(int start, int max) {
+        Integer length = runsByStart.get(start);
+        if (length == null || max <= 0) return 0;
+
+        int taken = Math.min(length, max);
+        removeRun(start, length);
+        if (length > taken) addRun(start + taken, length - taken);
+        setRange(start, taken, false);
+        return taken;
+    }
+
+    public void free(int start, int count) {
+        if (count <= 0) return;
+        if (start < 0 || start + count > totalBlocks || nextFree(start) < start + count) {
+            throw new IllegalArgumentException("Bloques [" + start + "-" + (start + count - 1) + "] no asignados");
+        }
+        setRange(start, count, true);
+
+        // Fusionar con las extensiones vecinas
+        Map.Entry<Integer, Integer> prev = runsByStart.lowerEntry(start);
+        if (prev != null && prev.getKey() + prev.getValue() == start) {
+            removeRun(prev.getKey(), prev.getValue());
+            count += start - prev.getKey();
+            start = prev.getKey();
+        }
+        Integer nextLength = runsByStart.get(start + count);
+        if (nextLength != null) {
+            removeRun(start + count, nextLength);
+            count += nextLength;
+        }
+        addRun(start, count);
+    }
+
+    // Reconstruir las extensiones recorriendo el mapa de bits palabra a palabra
+    private void rebuild() {
+        runsByStart.clear();
+        runsBySize.clear();
+        freeBlocks = 0;
+
+        int start = nextFree(0);
+        while (start < totalBlocks) {
+            int end = nextUsed(start);
+            addRun(start, end - start);
+            start = nextFree(end);
+        }
+    }
+
+    // Primer bloque libre desde 'from', o totalBlocks si no hay ninguno
+    private int nextFree(int from) {
+        return nextBit(from, 0);
+    }
+
+    // Primer bloque ocupado desde 'from', o totalBlocks si no hay ninguno
+    private int nextUsed(int from) {
+        return nextBit(from, -1L);
+    }
+
+    // Primer bit a 1 de (palabra ^ invert) a partir de 'from': las palabras uniformes se saltan enteras
+    private int nextBit(int from, long invert) {
+        if (from >= totalBlocks) return totalBlocks;
+
+        int w = from >>> 6;
+        long word = (bitmap[w] ^ invert) & (-1L << from);
+        while (word == 0) {
+            if (++w == bitmap.length) return totalBlocks;
+            word = bitmap[w] ^ invert;
+        }
+        return Math.min(totalBlocks, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    // Marcar [start, start + count) como libre u ocupado con máscaras de palabra completa
+    private void setRange(int start, int count, boolean free) {
+        int end = start + count;
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        for (int w = first; w <= last; w++) {
+            long mask = -1L;
+            if (w == first) mask &= -1L << start;
+            if (w == last) mask &= -1L >>> (63 - ((end - 1) & 63));
+            if (free) {
+                bitmap[w] |= mask;
+            } else {
+                bitmap[w] &= ~mask;
+            }
+        }
+    }
+
+    private void addRun(int start, int length) {
+        runsByStart.put(start, length);
+        runsBySize.add((long) length << 32 | start);
+        freeBlocks += length;
+    }
+
+    private void removeRun(int start, int length) {
+        runsByStart.remove(start);
+        runsBySize.remove((long) length << 32 | start);
+        freeBlocks -= length;
+    }
+}
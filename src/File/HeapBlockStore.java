@@ -0,0 +1,65 @@
+package File;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Bloques en el heap; cada uno se reserva la primera vez que se escribe y se pierde al salir
+public class HeapBlockStore implements BlockStore {
+    private final int blockSize;
+    private final byte[][] blocks;
+    private final byte[] zeros;     // contenido de un bloque nunca escrito
+
+    public HeapBlockStore(int totalBlocks, int blockSize) {
+        this.blockSize = blockSize;
+        this.blocks = new byte[totalBlocks][];
+        this.zeros = new byte[blockSize];
+    }
+
+    @Override
+    public int getBlockSize() { return blockSize; }
+
+    @Override
+    public void read(int block, int offset, byte[] dst, int dstOffset, int length) {
+        if (blocks[block] != null) {
+            System.arraycopy(blocks[block], offset, dst, dstOffset, length);
+        } else {
+            Arrays.fill(dst, dstOffset, dstOffset + length, (byte) 0);
+        }
+    }
+
+    @Override
+    public void write(int block, int offset, byte[] src, int srcOffset, int length) {
+        System.arraycopy(src, srcOffset, block(block), offset, length);
+    }
+
+    @Override
+    public void read(int block, int offset, ByteBuffer dst, int length) {
+        if (blocks[block] != null) {
+            dst.put(blocks[block], offset, length);
+        } else {
+            dst.put(zeros, 0, length);
+        }
+    }
+
+    @Override
+    public void write(int block, int offset, ByteBuffer src, int length) {
+        src.get(block(block), offset, length);
+    }
+
+    @Override
+    public ByteBuffer view(int block) {
+        return ByteBuffer.wrap(block(block));
+    }
+
+    @Override
+    public void clear(int start, int count) {
+        Arrays.fill(blocks, start, start + count, null);
+    }
+
+    private byte[] block(int index) {
+        if (blocks[index] == null) {
+            blocks[index] = new byte[blockSize];
+        }
+        return blocks[index];
+    }
+}
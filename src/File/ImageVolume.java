@@ -0,0 +1,218 @@
+package File;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// Volumen persistente en un archivo imagen proyectado en memoria con FileChannel.map:
+// [superbloque 4 KiB][mapa de bits][datos, alineados a 4 KiB][tabla de archivos]
+public class ImageVolume implements BlockStore {
+    private static final int MAGIC = 0x534F4653; // "SOFS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4096;
+    private static final long CHUNK_BYTES = 1L << 30; // un MappedByteBuffer no pasa de 2 GiB
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    // Campos del superbloque
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_BLOCK_SIZE = 8;
+    private static final int H_TOTAL_BLOCKS = 12;
+    private static final int H_TABLE_LENGTH = 16;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final int totalBlocks;
+    private final long bitmapBytes;
+    private final long tableOffset;
+    private final MappedByteBuffer meta;     // superbloque + mapa de bits
+    private final MappedByteBuffer[] chunks; // región de datos en trozos de CHUNK_BYTES
+    private final int blocksPerChunk;
+
+    private ImageVolume(FileChannel channel, int totalBlocks, int blockSize) throws IOException {
+        if (totalBlocks <= 0 || blockSize <= 0 || CHUNK_BYTES % blockSize != 0) {
+            throw new IllegalArgumentException("Geometría de volumen no válida: " + totalBlocks + " x " + blockSize);
+        }
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.totalBlocks = totalBlocks;
+        this.bitmapBytes = (long) FreeSpaceMap.bitmapWords(totalBlocks) * Long.BYTES;
+
+        long dataOffset = (HEADER_BYTES + bitmapBytes + HEADER_BYTES - 1) / HEADER_BYTES * HEADER_BYTES;
+        this.tableOffset = dataOffset + (long) totalBlocks * blockSize;
+        this.meta = channel.map(READ_WRITE, 0, dataOffset);
+
+        // Proyectar un archivo recién creado lo extiende sin escribir nada: la imagen queda dispersa
+        this.blocksPerChunk = (int) (CHUNK_BYTES / blockSize);
+        this.chunks = new MappedByteBuffer[(totalBlocks + blocksPerChunk - 1) / blocksPerChunk];
+        for (int i = 0; i < chunks.length; i++) {
+            long from = dataOffset + i * CHUNK_BYTES;
+            chunks[i] = channel.map(READ_WRITE, from, Math.min(CHUNK_BYTES, tableOffset - from));
+        }
+    }
+
+    public static ImageVolume format(Path path, int totalBlocks, int blockSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+        try {
+            ImageVolume volume = new ImageVolume(channel, totalBlocks, blockSize);
+            volume.meta.putInt(H_MAGIC, MAGIC);
+            volume.meta.putInt(H_VERSION, VERSION);
+            volume.meta.putInt(H_BLOCK_SIZE, blockSize);
+            volume.meta.putInt(H_TOTAL_BLOCKS, totalBlocks);
+            volume.meta.putInt(H_TABLE_LENGTH, 0);
+            return volume;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static ImageVolume open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, READ, WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(H_TABLE_LENGTH);
+            channel.read(header, 0);
+            if (header.position() < H_TABLE_LENGTH || header.getInt(H_MAGIC) != MAGIC) {
+                throw new IOException(path + " no es una imagen de volumen");
+            }
+            if (header.getInt(H_VERSION) != VERSION) {
+                throw new IOException("Versión de imagen no soportada: " + header.getInt(H_VERSION));
+            }
+            return new ImageVolume(channel, header.getInt(H_TOTAL_BLOCKS), header.getInt(H_BLOCK_SIZE));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getTotalBlocks() { return totalBlocks; }
+
+    @Override
+    public int getBlockSize() { return blockSize; }
+
+    // El mapa de bits se lee directamente de la proyección; las extensiones libres se reconstruyen al montar
+    public FreeSpaceMap loadFreeSpace() {
+        return FreeSpaceMap.readFrom(bitmap(), totalBlocks);
+    }
+
+    public void loadFileTable(Map<String, FileDescriptor> fileTable) throws IOException {
+        ByteBuffer table = ByteBuffer.allocate(meta.getInt(H_TABLE_LENGTH));
+        while (table.hasRemaining()) {
+            if (channel.read(table, tableOffset + table.position()) < 0) {
+                throw new IOException("Tabla de archivos truncada");
+            }
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(table.array()));
+        int files = table.capacity() == 0 ? 0 : in.readInt();
+        for (int i = 0; i < files; i++) {
+            FileDescriptor fd = new FileDescriptor(in.readUTF(), in.readInt());
+            int extents = in.readInt();
+            for (int e = 0; e < extents; e++) {
+                fd.addExtent(in.readInt(), in.readInt());
+            }
+            fileTable.put(fd.getFileName(), fd);
+        }
+    }
+
+    // Volcar mapa de bits y tabla de archivos; la longitud de la tabla en el superbloque se escribe la última
+    public void sync(FreeSpaceMap freeSpace, Collection<FileDescriptor> files) throws IOException {
+        freeSpace.writeTo(bitmap());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(files.size());
+        for (FileDescriptor fd : files) {
+            out.writeUTF(fd.getFileName());
+            out.writeInt(fd.getSize());
+            out.writeInt(fd.getExtentCount());
+            for (int e = 0; e < fd.getExtentCount(); e++) {
+                out.writeInt(fd.getExtentStart(e));
+                out.writeInt(fd.getExtentLength(e));
+            }
+        }
+
+        ByteBuffer table = ByteBuffer.wrap(bytes.toByteArray());
+        while (table.hasRemaining()) {
+            channel.write(table, tableOffset + table.position());
+        }
+        channel.truncate(tableOffset + table.capacity());
+        channel.force(false);
+
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        meta.putInt(H_TABLE_LENGTH, table.capacity());
+        meta.force();
+    }
+
+    // Las proyecciones siguen vivas hasta que el recolector las libere; cerrar el canal basta para soltar el archivo
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public void read(int block, int offset, byte[] dst, int dstOffset, int length) {
+        chunks[block / blocksPerChunk].get(position(block) + offset, dst, dstOffset, length);
+    }
+
+    @Override
+    public void write(int block, int offset, byte[] src, int srcOffset, int length) {
+        chunks[block / blocksPerChunk].put(position(block) + offset, src, srcOffset, length);
+    }
+
+    // Copia absoluta entre la proyección y el búfer, sin crear vistas intermedias
+    @Override
+    public void read(int block, int offset, ByteBuffer dst, int length) {
+        dst.put(dst.position(), chunks[block / blocksPerChunk], position(block) + offset, length);
+        dst.position(dst.position() + length);
+    }
+
+    @Override
+    public void write(int block, int offset, ByteBuffer src, int length) {
+        chunks[block / blocksPerChunk].put(position(block) + offset, src, src.position(), length);
+        src.position(src.position() + length);
+    }
+
+    @Override
+    public ByteBuffer view(int block) {
+        return chunks[block / blocksPerChunk].slice(position(block), blockSize);
+    }
+
+    @Override
+    public void clear(int start, int count) {
+        long chunkBytes = (long) blocksPerChunk * blockSize;
+        long from = (long) start * blockSize;
+        long end = (long) (start + count) * blockSize;
+        while (from < end) {
+            int pos = (int) (from % chunkBytes);
+            int n = (int) Math.min(Math.min(end - from, ZEROS.length), chunkBytes - pos);
+            chunks[(int) (from / chunkBytes)].put(pos, ZEROS, 0, n);
+            from += n;
+        }
+    }
+
+    private int position(int block) {
+        return (block % blocksPerChunk) * blockSize;
+    }
+
+    private LongBuffer bitmap() {
+        return meta.slice(HEADER_BYTES, (int) bitmapBytes).asLongBuffer();
+    }
+}
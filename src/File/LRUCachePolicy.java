@@ -0,0 +1,27 @@
+package File;
+
+public class LRUCachePolicy implements CachePolicy {
+
+    // Orden de uso: la cabeza es la ranura menos recientemente usada
+    private SlotLists order;
+
+    @Override
+    public String getName() { return "LRU"; }
+
+    @Override
+    public void init(int slots) { order = new SlotLists(slots, 1); }
+
+    @Override
+    public void onHit(int slot) { order.append(0, slot); }
+
+    @Override
+    public int selectVictim(int block, boolean full) {
+        return full ? order.removeHead(0) : -1;
+    }
+
+    @Override
+    public void onLoad(int slot, int block) { order.append(0, slot); }
+
+    @Override
+    public void onRemove(int slot) { order.unlink(slot); }
+}
@@ -0,0 +1,74 @@
+package File;
+
+import java.util.Arrays;
+
+// Listas doblemente enlazadas sobre las ranuras de la caché, en arrays: mover una ranura no reserva memoria.
+// Cada ranura está como mucho en una lista; en cada lista la cabeza es la menos reciente
+class SlotLists {
+    private final int[] prev;
+    private final int[] next;
+    private final int[] owner; // lista de cada ranura, -1 si no está en ninguna
+    private final int[] head;
+    private final int[] tail;
+    private final int[] size;
+
+    SlotLists(int slots, int lists) {
+        prev = new int[slots];
+        next = new int[slots];
+        owner = new int[slots];
+        head = new int[lists];
+        tail = new int[lists];
+        size = new int[lists];
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(owner, -1);
+        Arrays.fill(head, -1);
+        Arrays.fill(tail, -1);
+        Arrays.fill(size, 0);
+    }
+
+    int head(int list) { return head[list]; }
+    int size(int list) { return size[list]; }
+    int listOf(int slot) { return owner[slot]; }
+
+    // Añadir como la más reciente de 'list', sacándola antes de donde estuviera
+    void append(int list, int slot) {
+        unlink(slot);
+        prev[slot] = tail[list];
+        next[slot] = -1;
+        if (tail[list] == -1) {
+            head[list] = slot;
+        } else {
+            next[tail[list]] = slot;
+        }
+        tail[list] = slot;
+        owner[slot] = list;
+        size[list]++;
+    }
+
+    void unlink(int slot) {
+        int list = owner[slot];
+        if (list == -1) return;
+        if (prev[slot] == -1) {
+            head[list] = next[slot];
+        } else {
+            next[prev[slot]] = next[slot];
+        }
+        if (next[slot] == -1) {
+            tail[list] = prev[slot];
+        } else {
+            prev[next[slot]] = prev[slot];
+        }
+        owner[slot] = -1;
+        size[list]--;
+    }
+
+    // Quitar y devolver la menos reciente de 'list'
+    int removeHead(int list) {
+        int slot = head[list];
+        unlink(slot);
+        return slot;
+    }
+}
@@ -0,0 +1,44 @@
+package IO;
+
+import java.util.ArrayDeque;
+import java.util.TreeMap;
+
+// Base de los planificadores que eligen por número de bloque; a igual bloque, por orden de llegada.
+// Las solicitudes sin bloque cuentan como bloque 0
+public abstract class BlockOrderedScheduler implements DiskScheduler {
+
+    protected TreeMap<Integer, ArrayDeque<IORequest>> byBlock = new TreeMap<>();
+    private int size = 0;
+
+    protected static int blockOf(IORequest request) {
+        return Math.max(0, request.getBlock());
+    }
+
+    @Override
+    public void add(IORequest request) {
+        byBlock.computeIfAbsent(blockOf(request), b -> new ArrayDeque<>()).add(request);
+        size++;
+    }
+
+    // Sacar la solicitud más antigua del bloque
+    protected IORequest take(int block) {
+        ArrayDeque<IORequest> requests = byBlock.get(block);
+        IORequest request = requests.poll();
+        if (requests.isEmpty()) byBlock.remove(block);
+        size--;
+        return request;
+    }
+
+    protected void remove(IORequest request) {
+        int block = blockOf(request);
+        ArrayDeque<IORequest> requests = byBlock.get(block);
+        requests.remove(request);
+        if (requests.isEmpty()) byBlock.remove(block);
+        size--;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,16 @@
+package IO;
+
+// C-LOOK: barre solo hacia bloques mayores; tras la última solicitud salta a la más baja
+public class CLOOKDiskScheduler extends BlockOrderedScheduler {
+
+    @Override
+    public String getName() { return "C-LOOK"; }
+
+    @Override
+    public IORequest next(int head, int now) {
+        if (byBlock.isEmpty()) return null;
+
+        Integer block = byBlock.ceilingKey(head);
+        return take(block != null ? block : byBlock.firstKey());
+    }
+}
@@ -0,0 +1,57 @@
+package IO;
+
+import java.util.LinkedHashSet;
+
+// Deadline: orden C-LOOK por bloque, pero una solicitud que lleva demasiado esperando pasa delante.
+// Lecturas y escrituras tienen colas FIFO separadas y las lecturas caducan antes
+public class DeadlineDiskScheduler extends BlockOrderedScheduler {
+
+    private LinkedHashSet<IORequest> reads = new LinkedHashSet<>();
+    private LinkedHashSet<IORequest> writes = new LinkedHashSet<>();
+    private int readExpire;
+    private int writeExpire;
+
+    public DeadlineDiskScheduler(int readExpire, int writeExpire) {
+        this.readExpire = readExpire;
+        this.writeExpire = writeExpire;
+    }
+
+    @Override
+    public String getName() { return "Deadline"; }
+
+    private static boolean isWrite(IORequest request) {
+        return request.getOperation() == IOOperation.WRITE;
+    }
+
+    @Override
+    public void add(IORequest request) {
+        super.add(request);
+        (isWrite(request) ? writes : reads).add(request);
+    }
+
+    @Override
+    public IORequest next(int head, int now) {
+        if (byBlock.isEmpty()) return null;
+
+        // Primero las lecturas vencidas, después las escrituras vencidas
+        IORequest expired = expired(reads, readExpire, now);
+        if (expired == null) expired = expired(writes, writeExpire, now);
+        if (expired != null) {
+            remove(expired);
+            return expired;
+        }
+
+        Integer block = byBlock.ceilingKey(head);
+        IORequest request = take(block != null ? block : byBlock.firstKey());
+        (isWrite(request) ? writes : reads).remove(request);
+        return request;
+    }
+
+    private static IORequest expired(LinkedHashSet<IORequest> fifo, int expire, int now) {
+        if (fifo.isEmpty()) return null;
+        IORequest oldest = fifo.iterator().next();
+        if (now - oldest.getSubmitTime() < expire) return null;
+        fifo.remove(oldest);
+        return oldest;
+    }
+}
@@ -0,0 +1,49 @@
+package IO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dispositivos indexados por un entero: el nombre se resuelve una vez y después se accede por posición
+public class DeviceRegistry {
+    private List<IODevice> devices = new ArrayList<>();
+    private Map<String, Integer> handles = new HashMap<>();
+
+    // Disco, impresora y red de un solo canal
+    public static DeviceRegistry standard() {
+        DeviceRegistry registry = new DeviceRegistry();
+        registry.register(new IODevice("DISK"));
+        registry.register(new IODevice("PRINTER"));
+        registry.register(new IODevice("NETWORK"));
+        return registry;
+    }
+
+    // Registrar un dispositivo y devolver su identificador; uno con el mismo nombre
+    // conserva el identificador y reemplaza al anterior si este no tiene trabajo pendiente
+    public int register(IODevice device) {
+        Integer handle = handles.get(device.getName());
+        if (handle == null) {
+            handle = devices.size();
+            devices.add(device);
+            handles.put(device.getName(), handle);
+            return handle;
+        }
+
+        IODevice old = devices.get(handle);
+        if (old.isBusy() || old.getQueueLength() > 0) {
+            throw new IllegalStateException("El dispositivo " + device.getName() + " tiene E/S pendiente");
+        }
+        devices.set(handle, device);
+        return handle;
+    }
+
+    // Identificador del dispositivo, o -1 si no está registrado
+    public int resolve(String name) {
+        Integer handle = handles.get(name);
+        return handle == null ? -1 : handle;
+    }
+
+    public IODevice get(int handle) { return devices.get(handle); }
+    public int size() { return devices.size(); }
+}
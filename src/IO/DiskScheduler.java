@@ -0,0 +1,18 @@
+package IO;
+
+// Orden en que un dispositivo atiende su cola de solicitudes
+public interface DiskScheduler {
+    void add(IORequest request);
+
+    // Siguiente solicitud a atender con el cabezal en 'head', o null si la cola está vacía
+    IORequest next(int head, int now);
+
+    int size();
+
+    default boolean isEmpty() { return size() == 0; }
+
+    default String getName() { return getClass().getSimpleName(); }
+
+    // Bloques que recorre el cabezal para ir de 'from' a la solicitud que acaba de elegir next()
+    default int seekDistance(int from, int to) { return Math.abs(to - from); }
+}
@@ -0,0 +1,28 @@
+package IO;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+// Orden de llegada, sin mirar la posición del cabezal
+public class FCFSDiskScheduler implements DiskScheduler {
+
+    private Queue<IORequest> queue = new ArrayDeque<>();
+
+    @Override
+    public String getName() { return "FCFS"; }
+
+    @Override
+    public void add(IORequest request) {
+        queue.add(request);
+    }
+
+    @Override
+    public IORequest next(int head, int now) {
+        return queue.poll();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
@@ -1,40 +1,169 @@
 package IO;
 
+import java.util.PriorityQueue;
+
+// Dispositivo con varios canales (profundidad de cola): hasta 'channels' solicitudes en curso a la vez.
+// Tiempo de servicio = búsqueda + latencia fija + tamaño / ancho de banda; sin modelo se usa la duración
+// de la solicitud. La búsqueda solo cuenta para solicitudes con bloque y un modelo de búsqueda configurado
 public class IODevice {
     private String name;
-    private boolean isBusy;
-    private IORequest currentRequest;
-    private int remainingTime;
+    private int channels;
+    private int latency;
+    private int bandwidth;   // unidades de datos por unidad de tiempo; 0 = sin modelo
+
+    // Modelo de búsqueda: asentamiento fijo + distancia / bloques recorridos por unidad de tiempo
+    private int head = 0;
+    private int seekSettle = 0;
+    private int seekRate = 0; // 0 = sin modelo de búsqueda
+
+    // Solicitud en curso en un canal
+    private static class InFlight implements Comparable<InFlight> {
+        IORequest request;
+        int completionTime;
+        long sequence;
+
+        InFlight(IORequest request, int completionTime, long sequence) {
+            this.request = request;
+            this.completionTime = completionTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(InFlight o) {
+            if (completionTime != o.completionTime) return Integer.compare(completionTime, o.completionTime);
+            return Long.compare(sequence, o.sequence);
+        }
+    }
+
+    private DiskScheduler queue = new FCFSDiskScheduler();        // esperando un canal libre
+    private PriorityQueue<InFlight> inFlight = new PriorityQueue<>();
+    private long sequence = 0;
+
+    // Contadores
+    private int completed = 0;
+    private long totalLatency = 0;  // desde que entra en cola hasta que termina
+    private long seekDistance = 0;
+    private long dataTransferred = 0;
+    private int maxQueueLength = 0;
+    private long queueArea = 0;     // suma de longitud de cola × tiempo
+    private long inFlightArea = 0;  // suma de canales ocupados × tiempo
+    private int lastChange = 0;
 
     public IODevice(String name) {
+        this(name, 1, 0, 0);
+    }
+
+    public IODevice(String name, int channels, int latency, int bandwidth) {
+        if (channels < 1) {
+            throw new IllegalArgumentException("El dispositivo " + name + " necesita al menos un canal");
+        }
         this.name = name;
-        this.isBusy = false;
+        this.channels = channels;
+        this.latency = latency;
+        this.bandwidth = bandwidth;
     }
 
     public String getName() { return name; }
-    public boolean isBusy() { return isBusy; }
+    public int getChannels() { return channels; }
+    public boolean isBusy() { return !inFlight.isEmpty(); }
+    public int getInFlight() { return inFlight.size(); }
+    public int getQueueLength() { return queue.size(); }
+    public int getCompleted() { return completed; }
+    public long getSeekDistance() { return seekDistance; }
+    public double getMeanLatency() { return completed == 0 ? 0 : (double) totalLatency / completed; }
+    public String getSchedulerName() { return queue.getName(); }
 
-    public void startIO(IORequest request) {
-        this.currentRequest = request;
-        this.remainingTime = request.getDuration();
-        this.isBusy = true;
-        System.out.println("  → Dispositivo [" + name + "] inició " + request.getOperation() +
-                " para el PID " + request.getPid() + " (duración: " + request.getDuration() + ")");
+    // Cambiar el orden de servicio; solo con la cola vacía
+    public void setScheduler(DiskScheduler scheduler) {
+        if (!queue.isEmpty()) {
+            throw new IllegalStateException("No se puede cambiar el planificador de " + name + " con solicitudes en cola");
+        }
+        this.queue = scheduler;
+    }
+
+    public void setSeekModel(int settle, int blocksPerUnit) {
+        this.seekSettle = settle;
+        this.seekRate = blocksPerUnit;
     }
 
-    public IORequest tick() {
-        if (!isBusy) return null;
+    // Instante en que termina la próxima operación en curso, o -1 si no hay ninguna
+    public int getCompletionTime() {
+        return inFlight.isEmpty() ? -1 : inFlight.peek().completionTime;
+    }
 
-        remainingTime--;
+    public int serviceTime(IORequest request) {
+        if (bandwidth <= 0 || request.getSize() <= 0) return request.getDuration();
+        return latency + (request.getSize() + bandwidth - 1) / bandwidth;
+    }
+
+    private int seekTime(int distance) {
+        if (seekRate <= 0 || distance == 0) return 0;
+        return seekSettle + (distance + seekRate - 1) / seekRate;
+    }
+
+    // Encolar la solicitud; empieza en cuanto haya un canal libre
+    public void submit(IORequest request, int now) {
+        account(now);
+        if (request.getSubmitTime() < 0) request.setSubmitTime(now);
+        queue.add(request);
+        startQueued(now);
+        maxQueueLength = Math.max(maxQueueLength, queue.size());
+    }
+
+    // Termina la próxima operación (en su tiempo de finalización) y la devuelve;
+    // el canal liberado empieza la siguiente solicitud de la cola en ese mismo instante
+    public IORequest completeIO() {
+        if (inFlight.isEmpty()) return null;
+
+        // Contar el canal como ocupado hasta su tiempo de finalización
+        account(inFlight.peek().completionTime);
+        InFlight done = inFlight.poll();
+        completed++;
+        totalLatency += done.completionTime - done.request.getSubmitTime();
+        dataTransferred += Math.max(0, done.request.getSize());
+        System.out.println("  → Dispositivo [" + name + "] completó " + done.request.getOperation() +
+                " para el PID " + done.request.getPid());
+
+        startQueued(done.completionTime);
+        return done.request;
+    }
+
+    private void startQueued(int now) {
+        while (inFlight.size() < channels && !queue.isEmpty()) {
+            IORequest request = queue.next(head, now);
+            int service = serviceTime(request);
+
+            // Mover el cabezal hasta el bloque de la solicitud
+            if (request.getBlock() >= 0) {
+                int distance = queue.seekDistance(head, request.getBlock());
+                head = request.getBlock();
+                seekDistance += distance;
+                service += seekTime(distance);
+            }
+            inFlight.add(new InFlight(request, now + service, sequence++));
+            System.out.println("  → Dispositivo [" + name + "] inició " + request.getOperation() +
+                    " para el PID " + request.getPid() + " (duración: " + service + ")");
+        }
+    }
+
+    // Acumular la longitud de cola y los canales ocupados desde el último cambio
+    private void account(int now) {
+        if (now > lastChange) {
+            queueArea += (long) queue.size() * (now - lastChange);
+            inFlightArea += (long) inFlight.size() * (now - lastChange);
+            lastChange = now;
+        }
+    }
 
-        if (remainingTime <= 0) {
-            isBusy = false;
-            System.out.println("  → Dispositivo [" + name + "] completó " + currentRequest.getOperation() +
-                    " para el PID " + currentRequest.getPid());
-            IORequest completed = currentRequest;
-            currentRequest = null;
-            return completed;
+    public void printStatistics(int now) {
+        account(now);
+        double elapsed = Math.max(1, now);
+        System.out.printf("%s\t%d\t%d\t%.3f\t\t%d\t%.2f\t\t%d\t\t%.1f%%\t\t%.2f\n",
+                name, channels, completed, completed / elapsed, dataTransferred,
+                queueArea / elapsed, maxQueueLength, 100.0 * inFlightArea / (elapsed * channels),
+                getMeanLatency());
+        if (seekDistance > 0) {
+            System.out.println("  " + name + " [" + queue.getName() + "]: distancia de búsqueda total " + seekDistance);
         }
-        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,3 @@
+package IO;
+
+public enum IOOperation { READ, WRITE }
@@ -1,20 +1,50 @@
 package IO;
 
 public class IORequest {
+    public static final int BLOCK_SIZE = 64; // bytes por bloque, como en el sistema de archivos
+
     private int pid;
     private String deviceName;
     private int duration;
-    private String operation; // "LEER" o "ESCRIBIR"
+    private IOOperation operation;
+    private int size;         // datos a transferir; con él el dispositivo calcula la duración
+    private int block;        // bloque de destino en disco, -1 si no aplica
+    private int submitTime = -1;
+    private int cpuOffset = -1;   // CPU consumida por el proceso al emitirla; -1 = mitad de la ráfaga
+
+    public IORequest(int pid, String deviceName, int duration, IOOperation operation) {
+        this(pid, deviceName, duration, operation, 0);
+    }
+
+    public IORequest(int pid, String deviceName, int duration, IOOperation operation, int size) {
+        this(pid, deviceName, duration, operation, size, -1);
+    }
 
-    public IORequest(int pid, String deviceName, int duration, String operation) {
+    public IORequest(int pid, String deviceName, int duration, IOOperation operation, int size, int block) {
         this.pid = pid;
         this.deviceName = deviceName;
         this.duration = duration;
         this.operation = operation;
+        this.size = size;
+        this.block = block;
     }
 
     public int getPid() { return pid; }
     public String getDeviceName() { return deviceName; }
     public int getDuration() { return duration; }
-    public String getOperation() { return operation; }
+    public IOOperation getOperation() { return operation; }
+    public int getSize() { return size; }
+    public int getBlock() { return block; }
+
+    // Bloques que ocupa la transferencia a partir de 'block' (al menos uno)
+    public int getBlockCount() {
+        return Math.max(1, (size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
+
+    public int getCpuOffset() { return cpuOffset; }
+    public void setCpuOffset(int cpuOffset) { this.cpuOffset = cpuOffset; }
+
+    // Instante en que entró en la cola del dispositivo
+    public int getSubmitTime() { return submitTime; }
+    public void setSubmitTime(int submitTime) { this.submitTime = submitTime; }
 }
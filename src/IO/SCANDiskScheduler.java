@@ -0,0 +1,38 @@
+package IO;
+
+// Ascensor: el cabezal barre en un sentido atendiendo lo que encuentra, llega al extremo del disco
+// y vuelve en sentido contrario
+public class SCANDiskScheduler extends BlockOrderedScheduler {
+
+    private int lastBlock;          // extremo superior del disco
+    private boolean ascending = true;
+    private int edge = -1;          // extremo tocado antes de la última elección, para la distancia
+
+    public SCANDiskScheduler(int blocks) {
+        this.lastBlock = blocks - 1;
+    }
+
+    @Override
+    public String getName() { return "SCAN"; }
+
+    @Override
+    public IORequest next(int head, int now) {
+        if (byBlock.isEmpty()) return null;
+
+        Integer block = ascending ? byBlock.ceilingKey(head) : byBlock.floorKey(head);
+        edge = -1;
+        if (block == null) {
+            // Nada más en este sentido: llegar al extremo y dar la vuelta
+            edge = ascending ? lastBlock : 0;
+            ascending = !ascending;
+            block = ascending ? byBlock.ceilingKey(head) : byBlock.floorKey(head);
+        }
+        return take(block);
+    }
+
+    @Override
+    public int seekDistance(int from, int to) {
+        if (edge == -1) return Math.abs(to - from);
+        return Math.abs(edge - from) + Math.abs(edge - to);
+    }
+}
@@ -0,0 +1,19 @@
+package IO;
+
+// Shortest-seek-time-first: la solicitud más cercana al cabezal (a igual distancia, la de bloque mayor)
+public class SSTFDiskScheduler extends BlockOrderedScheduler {
+
+    @Override
+    public String getName() { return "SSTF"; }
+
+    @Override
+    public IORequest next(int head, int now) {
+        if (byBlock.isEmpty()) return null;
+
+        Integer below = byBlock.floorKey(head);
+        Integer above = byBlock.ceilingKey(head);
+        if (below == null) return take(above);
+        if (above == null) return take(below);
+        return take(head - below < above - head ? below : above);
+    }
+}
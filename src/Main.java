@@ -1,11 +1,36 @@
 import Dispatcher.Dispatcher;
+import File.ARCCachePolicy;
+import File.BufferCache;
+import File.FileDescriptor;
+import File.FileSystem;
+import File.LRUCachePolicy;
 import Manager.IOManager;
 import Manager.MemoryManager;
+import Manager.PagedMemoryManager;
+import Memory.LRUReplacement;
+import Scheduler.CFSScheduler;
+import Scheduler.ConcurrentFCFSScheduler;
+import Scheduler.ConcurrentRoundRobinScheduler;
 import Scheduler.FCFSScheduler;
+import Scheduler.MLFQScheduler;
 import Scheduler.RoundRobinScheduler;
+import Scheduler.SRTFScheduler;
 import Scheduler.Scheduler;
 import Process.Process;
+import IO.CLOOKDiskScheduler;
+import IO.DeadlineDiskScheduler;
+import IO.DiskScheduler;
+import IO.FCFSDiskScheduler;
+import IO.IODevice;
+import IO.IOOperation;
 import IO.IORequest;
+import IO.SCANDiskScheduler;
+import IO.SSTFDiskScheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class Main {
     public static void main(String[] args) {
@@ -22,23 +47,24 @@ public class Main {
         IOManager ioManager = new IOManager();
 
         Scheduler fcfs = new FCFSScheduler();
+        Dispatcher d1 = new Dispatcher(fcfs, memory, ioManager);
 
+        // Los procesos entran al planificador cuando llega su tiempo de llegada
         // Proceso 1: Necesita E/S de disco
         Process p1 = new Process(1, 0, 10, 30);
-        p1.addIORequest(new IORequest(1, "DISK", 3, "READ"));
-        fcfs.addProcess(p1);
+        p1.addIORequest(new IORequest(1, "DISK", 3, IOOperation.READ));
+        d1.addProcess(p1);
 
         // Proceso 2: Necesita E/S de impresora
         Process p2 = new Process(2, 1, 8, 20);
-        p2.addIORequest(new IORequest(2, "PRINTER", 2, "WRITE"));
-        fcfs.addProcess(p2);
+        p2.addIORequest(new IORequest(2, "PRINTER", 2, IOOperation.WRITE));
+        d1.addProcess(p2);
 
         // Proceso 3: Sin E/S
         Process p3 = new Process(3, 2, 6, 40);
-        fcfs.addProcess(p3);
+        d1.addProcess(p3);
 
-        Dispatcher d1 = new Dispatcher(fcfs, memory, ioManager);
-        d1.runFCFS();
+        d1.run();
         memory.printMemoryMap();
 
         
@@ -54,12 +80,12 @@ public class Main {
         
         // Proceso 1: E/S de red
         Process p4 = new Process(1, 0, 10, 30);
-        p4.addIORequest(new IORequest(1, "NETWORK", 4, "READ"));
+        p4.addIORequest(new IORequest(1, "NETWORK", 4, IOOperation.READ));
         rr.addProcess(p4);
 
         // Proceso 2: E/S de disco
         Process p5 = new Process(2, 0, 8, 20);
-        p5.addIORequest(new IORequest(2, "DISK", 2, "WRITE"));
+        p5.addIORequest(new IORequest(2, "DISK", 2, IOOperation.WRITE));
         rr.addProcess(p5);
 
         // Proceso 3: Sin E/S
@@ -67,7 +93,7 @@ public class Main {
         rr.addProcess(p6);
 
         Dispatcher d2 = new Dispatcher(rr, memory2, ioManager2);
-        d2.runRoundRobin(rr);
+        d2.run();
         memory2.printMemoryMap();
 
         // ---------------- Prueba de estrés: E/S múltiples ----------------
@@ -84,12 +110,409 @@ public class Main {
             //Todo proceso necesita E/S
             String[] devices = {"DISK", "PRINTER", "NETWORK"};
             String device = devices[i % 3];
-            p.addIORequest(new IORequest(i, device, 2 + (i % 3), "READ"));
+            p.addIORequest(new IORequest(i, device, 2 + (i % 3), IOOperation.READ));
             rr2.addProcess(p);
         }
 
         Dispatcher d3 = new Dispatcher(rr2, memory3, ioManager3);
-        d3.runRoundRobin(rr2);
+        d3.run();
         memory3.printMemoryMap();
+
+        // ---------------- Memoria paginada ----------------
+        System.out.println("\n📋 PRUEBA 4: Round robin con memoria paginada (LRU)");
+        System.out.println("-".repeat(50));
+
+        // 64 unidades en marcos de 8: los cinco procesos caben a la vez aunque pidan 200 en total
+        PagedMemoryManager paged = new PagedMemoryManager(64, 8, 4, new LRUReplacement(), 1);
+        IOManager ioManager4 = new IOManager();
+
+        RoundRobinScheduler rr3 = new RoundRobinScheduler(3);
+
+        for (int i = 1; i <= 5; i++) {
+            rr3.addProcess(new Process(i, 0, 8, 40));
+        }
+
+        Dispatcher d4 = new Dispatcher(rr3, paged, ioManager4);
+        d4.run();
+        paged.printMemoryMap();
+
+        // ---------------- MLFQ con procesos interactivos ----------------
+        System.out.println("\n📋 PRUEBA 5: MLFQ con procesos interactivos y de CPU");
+        System.out.println("-".repeat(50));
+
+        MemoryManager memory5 = new MemoryManager(300);
+        IOManager ioManager5 = new IOManager();
+
+        // Tres niveles (quantum 2, 4 y 8) con impulso cada 30 unidades
+        MLFQScheduler mlfq = new MLFQScheduler(new int[] {2, 4, 8}, 30);
+
+        // Procesos largos de CPU delante de procesos cortos con E/S
+        for (int i = 1; i <= 2; i++) {
+            mlfq.addProcess(new Process(i, 0, 20, 40));
+        }
+        for (int i = 3; i <= 5; i++) {
+            Process p = new Process(i, 0, 4, 20);
+            p.addIORequest(new IORequest(i, "DISK", 2, IOOperation.READ));
+            mlfq.addProcess(p);
+        }
+
+        Dispatcher d5 = new Dispatcher(mlfq, memory5, ioManager5);
+        d5.run();
+        memory5.printMemoryMap();
+
+        // ---------------- CFS con valores nice ----------------
+        System.out.println("\n📋 PRUEBA 6: CFS con distintos valores nice");
+        System.out.println("-".repeat(50));
+
+        MemoryManager memory6 = new MemoryManager(300);
+        IOManager ioManager6 = new IOManager();
+
+        CFSScheduler cfs = new CFSScheduler(12, 2);
+
+        // Mismo trabajo, distinta prioridad: nice -5, 0 y 5
+        for (int i = 1; i <= 3; i++) {
+            Process p = new Process(i, 0, 12, 30);
+            p.getPCB().setNice((i - 2) * 5);
+            cfs.addProcess(p);
+        }
+
+        Dispatcher d6 = new Dispatcher(cfs, memory6, ioManager6);
+        d6.run();
+        memory6.printMemoryMap();
+
+        // ---------------- SRTF con trabajos cortos ----------------
+        System.out.println("\n📋 PRUEBA 7: SRTF con llegadas de trabajos cortos");
+        System.out.println("-".repeat(50));
+
+        MemoryManager memory7 = new MemoryManager(300);
+        IOManager ioManager7 = new IOManager();
+
+        SRTFScheduler srtf = new SRTFScheduler();
+        Dispatcher d7 = new Dispatcher(srtf, memory7, ioManager7);
+
+        // Un trabajo largo desde el inicio; los cortos llegan después y lo expulsan
+        d7.addProcess(new Process(1, 0, 12, 40));
+        for (int i = 2; i <= 5; i++) {
+            d7.addProcess(new Process(i, 2 * i, 2 + i, 20));
+        }
+
+        d7.run();
+        memory7.printMemoryMap();
+
+        // ---------------- Multiprocesador con robo de trabajo ----------------
+        System.out.println("\n📋 PRUEBA 8: Round robin en 4 CPUs con afinidad y robo de trabajo");
+        System.out.println("-".repeat(50));
+
+        MemoryManager memory8 = new MemoryManager(400);
+        IOManager ioManager8 = new IOManager();
+
+        // Cada CPU con su propia cola round robin
+        Dispatcher d8 = new Dispatcher(() -> new RoundRobinScheduler(3), 4, memory8, ioManager8);
+
+        for (int i = 1; i <= 10; i++) {
+            Process p = new Process(i, i / 2, 4 + i % 5, 30);
+            if (i % 3 == 0) {
+                p.addIORequest(new IORequest(i, "DISK", 3, IOOperation.READ));
+            }
+            // Los tres primeros solo pueden correr en la CPU 0
+            if (i <= 3) {
+                p.getPCB().setAffinity(1L);
+            }
+            d8.addProcess(p);
+        }
+
+        d8.run();
+        memory8.printMemoryMap();
+
+        // ---------------- Dispositivo con varios canales ----------------
+        System.out.println("\n📋 PRUEBA 9: E/S concurrente en un SSD de 4 canales");
+        System.out.println("-".repeat(50));
+
+        MemoryManager memory9 = new MemoryManager(300);
+        IOManager ioManager9 = new IOManager();
+        // Latencia fija 1 y 32 unidades de datos por unidad de tiempo
+        ioManager9.registerDevice(new IODevice("SSD", 4, 1, 32));
+
+        Dispatcher d9 = new Dispatcher(new RoundRobinScheduler(2), memory9, ioManager9);
+        for (int i = 1; i <= 6; i++) {
+            Process p = new Process(i, 0, 4, 20);
+            p.addIORequest(new IORequest(i, "SSD", 0, IOOperation.READ, 64 * i));
+            d9.addProcess(p);
+        }
+
+        d9.run();
+        memory9.printMemoryMap();
+
+        // ---------------- Planificación de disco ----------------
+        System.out.println("\n📋 PRUEBA 10: Planificadores de disco sobre la misma traza");
+        System.out.println("-".repeat(50));
+
+        int[] blocks = {98, 183, 37, 122, 14, 124, 65, 67};
+        DiskScheduler[] diskSchedulers = {
+            new FCFSDiskScheduler(), new SSTFDiskScheduler(), new SCANDiskScheduler(200),
+            new CLOOKDiskScheduler(), new DeadlineDiskScheduler(20, 40)
+        };
+        StringBuilder comparison = new StringBuilder();
+
+        for (DiskScheduler diskScheduler : diskSchedulers) {
+            IOManager ioManager10 = new IOManager();
+            // Disco de 200 bloques: asentamiento 1 y 20 bloques por unidad de tiempo, transferencia fija 1
+            IODevice disk = new IODevice("DISK", 1, 1, 0);
+            disk.setSeekModel(1, 20);
+            disk.setScheduler(diskScheduler);
+            ioManager10.registerDevice(disk);
+
+            Dispatcher d10 = new Dispatcher(new FCFSScheduler(), new MemoryManager(300), ioManager10);
+            for (int i = 0; i < blocks.length; i++) {
+                Process p = new Process(i + 1, 0, 2, 20);
+                IOOperation op = i % 3 == 2 ? IOOperation.WRITE : IOOperation.READ;
+                p.addIORequest(new IORequest(i + 1, "DISK", 1, op, 0, blocks[i]));
+                d10.addProcess(p);
+            }
+            d10.run();
+
+            comparison.append(String.format("%s\t\t%d\t\t%.2f\n", diskScheduler.getName(),
+                    disk.getSeekDistance(), disk.getMeanLatency()));
+        }
+
+        System.out.println("Planificador\tBúsqueda total\tLatencia media");
+        System.out.print(comparison);
+
+        // ---------------- Fusión de solicitudes de disco ----------------
+        System.out.println("\n📋 PRUEBA 11: Lecturas pequeñas contiguas con y sin fusión");
+        System.out.println("-".repeat(50));
+
+        StringBuilder batching = new StringBuilder();
+        for (int batchSize : new int[] {1, 4}) {
+            IOManager ioManager11 = new IOManager();
+            // Latencia 3 por operación y 32 bytes por unidad de tiempo: fusionar ahorra latencias
+            ioManager11.registerDevice(new IODevice("DISK", 1, 3, 32));
+            ioManager11.setBatching("DISK", batchSize, 3);
+
+            Dispatcher d11 = new Dispatcher(new RoundRobinScheduler(1), new MemoryManager(300), ioManager11);
+            for (int i = 1; i <= 8; i++) {
+                Process p = new Process(i, 0, 2, 20);
+                p.addIORequest(new IORequest(i, "DISK", 1, IOOperation.READ, IORequest.BLOCK_SIZE, 40 + i));
+                d11.addProcess(p);
+            }
+            d11.run();
+
+            IODevice disk = ioManager11.getDevice("DISK");
+            batching.append(String.format("%d\t\t%d\t\t%.2f\n", batchSize, disk.getCompleted(), disk.getMeanLatency()));
+        }
+
+        System.out.println("Lote\t\tOperaciones\tLatencia media");
+        System.out.print(batching);
+
+        // ---------------- Varias E/S por proceso ----------------
+        System.out.println("\n📋 PRUEBA 12: Procesos que alternan CPU y E/S varias veces");
+        System.out.println("-".repeat(50));
+
+        MemoryManager memory12 = new MemoryManager(300);
+        IOManager ioManager12 = new IOManager();
+        Dispatcher d12 = new Dispatcher(new RoundRobinScheduler(4), memory12, ioManager12);
+
+        // Proceso interactivo: lee del disco cada 2 unidades de CPU y escribe al final
+        Process p12 = new Process(1, 0, 8, 30);
+        for (int offset = 2; offset < 8; offset += 2) {
+            p12.addIORequest(new IORequest(1, "DISK", 2, IOOperation.READ), offset);
+        }
+        p12.addIORequest(new IORequest(1, "PRINTER", 1, IOOperation.WRITE), 8);
+        d12.addProcess(p12);
+
+        // Dos procesos de CPU, uno con una sola consulta de red al principio
+        Process p13 = new Process(2, 0, 10, 30);
+        p13.addIORequest(new IORequest(2, "NETWORK", 3, IOOperation.READ), 1);
+        d12.addProcess(p13);
+        d12.addProcess(new Process(3, 0, 10, 30));
+
+        d12.run();
+        memory12.printMemoryMap();
+
+        // ---------------- Sistema de archivos ----------------
+        System.out.println("\n📋 PRUEBA 13: Sistema de archivos de un millón de bloques");
+        System.out.println("-".repeat(50));
+
+        FileSystem fs = new FileSystem(1_000_000);
+        fs.createFile("kernel.img", 64 * 4096);
+        fs.createFile("log.txt", 1000);
+        fs.createFile("swap", 64 * 200_000);
+        fs.deleteFile("log.txt");
+        // El hueco que dejó log.txt basta y se reutiliza antes que el espacio grande del final
+        fs.createFile("config", 500);
+        fs.openFile("config");
+        fs.writeFile("config", "quantum=3\nmemoria=300\n".getBytes());
+        System.out.print(new String(fs.readFile("config")).trim() + "\n");
+        fs.closeFile("config");
+        fs.listFiles();
+
+        System.out.println("\n📋 PRUEBA 14: Archivos por extensiones en un disco fragmentado");
+        System.out.println("-".repeat(50));
+
+        FileSystem frag = new FileSystem(64);
+        for (int i = 0; i < 8; i++) {
+            frag.createFile("f" + i, 8 * 64);
+        }
+        for (int i = 0; i < 8; i += 2) {
+            frag.deleteFile("f" + i);
+        }
+        // Ningún hueco de 24 bloques, pero sí 32 libres: el archivo se reparte en varias extensiones
+        frag.createFile("datos", 24 * 64);
+        frag.openFile("datos");
+        frag.writeFile("datos", "cabecera".getBytes());
+        frag.appendFile("datos", " y cola".getBytes());
+        frag.truncateFile("datos", 8);
+        System.out.print(new String(frag.readFile("datos")) + "\n");
+        frag.closeFile("datos");
+        frag.listFiles();
+
+        System.out.println("\n📋 PRUEBA 15: Volumen persistente en una imagen proyectada en memoria");
+        System.out.println("-".repeat(50));
+
+        try {
+            Path dir = Files.createTempDirectory("volumen");
+            Path image = dir.resolve("volumen.img");
+            try (FileSystem vol = FileSystem.format(image, 1_000_000)) {
+                vol.createFile("notas.txt", 100);
+                vol.openFile("notas.txt");
+                vol.writeFile("notas.txt", "persistente entre ejecuciones".getBytes());
+                vol.closeFile("notas.txt");
+            }
+            // Al volver a montar, el contenido y el espacio libre salen de la imagen
+            try (FileSystem vol = FileSystem.mount(image)) {
+                vol.openFile("notas.txt");
+                System.out.print(new String(vol.readFile("notas.txt")).trim() + "\n");
+                vol.closeFile("notas.txt");
+                vol.listFiles();
+            }
+            Files.delete(image);
+            Files.delete(dir);
+        } catch (IOException e) {
+            System.out.println("Error de E/S con la imagen: " + e.getMessage());
+        }
+
+        System.out.println("\n📋 PRUEBA 16: Caché de bloques y latencia del proceso");
+        System.out.println("-".repeat(50));
+
+        StringBuilder caching = new StringBuilder();
+        String[] cacheNames = {"LRU", "ARC", "LRU"};
+        int[] capacities = {4, 4, 16};
+        for (int c = 0; c < capacities.length; c++) {
+            Process p16 = new Process(1, 0, 8, 20);
+            Dispatcher d16 = new Dispatcher(new RoundRobinScheduler(2), new MemoryManager(300), new IOManager());
+            FileSystem cached = new FileSystem(64);
+            cached.setCache(capacities[c], cacheNames[c].equals("ARC") ? new ARCCachePolicy() : new LRUCachePolicy(),
+                    d16::diskIO);
+            cached.createFile("indice", 2 * 64);
+            cached.createFile("tabla", 8 * 64);
+            cached.openFile("indice");
+            cached.openFile("tabla");
+
+            // Cada 2 unidades de CPU el proceso consulta dos veces el índice y recorre la tabla:
+            // cada fallo es una lectura DISK que lo bloquea en ese momento hasta que termina
+            for (int round = 0; round < 4; round++) {
+                p16.addFileAccess(2 * round, () -> {
+                    cached.readFile("indice");
+                    cached.readFile("indice");
+                    cached.readFile("tabla");
+                });
+            }
+
+            d16.addProcess(p16);
+            d16.run();
+
+            BufferCache stats = cached.getCache();
+            stats.printStatistics();
+            caching.append(String.format("%s %d\t\t%.1f%%\t\t%d\n", stats.getPolicyName(), stats.getCapacity(),
+                    stats.getHitRate() * 100, p16.getPCB().getCompletionTime() - p16.getPCB().getArrivalTime()));
+        }
+
+        System.out.println("\nCaché\t\tAciertos\tRetorno");
+        System.out.print(caching);
+
+        System.out.println("\n📋 PRUEBA 17: E/S posicional con ByteBuffer, scatter y gather");
+        System.out.println("-".repeat(50));
+
+        FileSystem posFs = new FileSystem(1024);
+        posFs.createFile("registro.bin", 0);
+        FileDescriptor log = posFs.openFile("registro.bin");
+
+        // Gather: cabecera y cuerpo salen de búferes distintos en una sola llamada
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(0x4C4F4731).putInt(4000);
+        ByteBuffer body = ByteBuffer.allocate(4000);
+        for (int i = 0; i < 4000; i++) body.put((byte) (i % 251));
+        header.flip();
+        body.flip();
+        System.out.println("Gather: " + posFs.write(log, 0, new ByteBuffer[] {header, body}) + " bytes escritos");
+
+        // Escritura en mitad del archivo y lectura de esa zona
+        posFs.write(log, 1000, ByteBuffer.wrap("parche".getBytes()));
+        ByteBuffer patch = ByteBuffer.allocate(6);
+        posFs.read(log, 1000, patch);
+        System.out.println("En la posición 1000: " + new String(patch.array()));
+
+        // Recorrido con un único búfer directo reutilizado
+        ByteBuffer chunk = ByteBuffer.allocateDirect(256);
+        long checksum = 0;
+        int position = 0;
+        int calls = 0;
+        int n;
+        while ((n = posFs.read(log, position, chunk.clear())) > 0) {
+            chunk.flip();
+            while (chunk.hasRemaining()) checksum += chunk.get() & 0xFF;
+            position += n;
+            calls++;
+        }
+        System.out.println("Recorrido: " + position + " bytes en " + calls + " lecturas, suma " + checksum);
+
+        // Scatter: la cabecera y el principio del cuerpo en búferes separados
+        header.clear();
+        ByteBuffer start = ByteBuffer.allocate(4);
+        posFs.read(log, 0, new ByteBuffer[] {header, start});
+        System.out.println("Scatter: magia " + Integer.toHexString(header.getInt(0)) + ", longitud " +
+                header.getInt(4) + ", primeros bytes " + start.get(0) + " " + start.get(1) + " " + start.get(2));
+        posFs.closeFile("registro.bin");
+
+        // ---------------- Planificadores concurrentes ----------------
+        System.out.println("\n📋 PRUEBA 18: Cola de listos concurrente compartida");
+        System.out.println("-".repeat(50));
+
+        // Varios hilos productores alimentan la misma cola sin bloqueos; con un anillo de 256
+        // la mayoría de los 1000 procesos pasa por el desbordamiento
+        ConcurrentFCFSScheduler intake = new ConcurrentFCFSScheduler(256);
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int first = 100 + t * 250;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    intake.requeue(new Process(first + i, 0, 1, 1));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread t : producers) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        boolean[] received = new boolean[1100];
+        int distinct = 0;
+        Process next;
+        while ((next = intake.getNextProcess()) != null) {
+            if (!received[next.getPCB().getPid()]) distinct++;
+            received[next.getPCB().getPid()] = true;
+        }
+        System.out.println("Recibidos " + distinct + " procesos distintos de " + producers.length + " hilos");
+
+        // Una única cola round robin global para las 4 CPUs del despachador
+        ConcurrentRoundRobinScheduler global = new ConcurrentRoundRobinScheduler(2);
+        Dispatcher d18 = new Dispatcher(() -> global, 4, new MemoryManager(300), new IOManager());
+        for (int i = 1; i <= 6; i++) {
+            d18.addProcess(new Process(i, i - 1, 3 + i % 3, 30));
+        }
+        d18.run();
+
     }
-}
\ No newline at end of file
+}
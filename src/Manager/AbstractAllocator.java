@@ -0,0 +1,110 @@
+package Manager;
+
+import Memory.Memory;
+import Memory.MemoryBlock;
+import Process.PCB;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public abstract class AbstractAllocator implements MemoryAllocator {
+
+    protected int totalMemory;
+    protected Memory physical;
+    protected Map<Integer, MemoryBlock> allocated = new HashMap<>();
+    protected Map<Integer, PCB> owners = new HashMap<>();
+
+    private long allocations = 0;
+    private long failedAllocations = 0;
+    private long totalLatency = 0;
+
+    protected AbstractAllocator(int total) {
+        this.totalMemory = total;
+        this.physical = new Memory(total);
+    }
+
+    public Memory getPhysicalMemory() { return physical; }
+
+    // Cada política decide dónde colocar el bloque; devuelve el bloque reservado o null
+    protected abstract MemoryBlock place(int size);
+
+    // Devolver un bloque reservado al espacio libre
+    protected abstract void release(MemoryBlock block);
+
+    protected abstract void printFreeBlocks();
+
+    @Override
+    public boolean allocate(PCB pcb, int size) {
+        long start = System.nanoTime();
+        MemoryBlock block = place(size);
+        totalLatency += System.nanoTime() - start;
+        allocations++;
+
+        if (block == null) {
+            failedAllocations++;
+            System.out.println("Fallo la asignación de memoria para el PID " + pcb.getPid());
+            return false;
+        }
+
+        allocated.put(pcb.getPid(), block);
+        owners.put(pcb.getPid(), pcb);
+
+        // Actualizar Process.Process.Process.PCB con la dirección base de memoria
+        pcb.allocateMemory(block.start);
+
+        // Simular escritura en memoria real: marcar el bloque como perteneciente a este proceso
+        physical.fill(block.start, size, pcb.getPid());
+
+        System.out.println("Asignado PID " + pcb.getPid() +
+        " → [" + block.start + "-" + (block.start + block.size - 1) +
+        "] (" + block.size + " unidades)");
+        return true;
+    }
+
+    @Override
+    public void free(PCB pcb) {
+        int pid = pcb.getPid();
+        if (!allocated.containsKey(pid)) return;
+
+        MemoryBlock block = allocated.remove(pid);
+        owners.remove(pid);
+        int start = block.start;
+        int end = block.start + block.size - 1;
+
+        // Borrar la memoria actual
+        physical.clear(start, block.size);
+
+        // Proceso de actualización.Proceso.Proceso.PCB
+        pcb.freeMemory();
+
+        release(block);
+
+        System.out.println("Liberado PID " + pid +
+        " → [" + start + "-" + end + "]");
+    }
+
+    @Override
+    public long getAllocationCount() { return allocations; }
+
+    @Override
+    public long getFailedAllocations() { return failedAllocations; }
+
+    @Override
+    public double getAverageAllocationLatency() {
+        if (allocations == 0) return 0;
+        return (double) totalLatency / allocations;
+    }
+
+    @Override
+    public void printMemoryMap() {
+        System.out.println("\n--- Mapa de Memoria ---");
+        System.out.println("Asignado:");
+        for (var entry : allocated.entrySet()) {
+            MemoryBlock b = entry.getValue();
+            System.out.println("  PID " + entry.getKey() + ": [" + b.start + "-" + (b.start + b.size - 1) + "]");
+        }
+        System.out.println("Libre:");
+        printFreeBlocks();
+        System.out.println("------------------\n");
+    }
+}
@@ -0,0 +1,168 @@
+package Manager;
+
+import Memory.MemoryBlock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+// Comprobación del best-fit indexado por tamaño (MemoryManager) contra el algoritmo original:
+// recorrido lineal de todos los huecos y reconstrucción completa de la lista libre en cada liberación.
+//   java Manager.AllocatorCheck [operaciones]
+// Primero una prueba diferencial aleatoria (mismas bases y mismo mapa libre tras cada paso) y después
+// un banco de pruebas con bloques de tamaño aleatorio
+public class AllocatorCheck {
+
+    // El MemoryManager de la versión inicial, sin mensajes ni memoria física
+    private static class LegacyBestFit {
+        private TreeMap<Integer, MemoryBlock> freeBlocks = new TreeMap<>();
+
+        LegacyBestFit(int total) {
+            freeBlocks.put(0, new MemoryBlock(0, total));
+        }
+
+        MemoryBlock place(int size) {
+            MemoryBlock bestFit = null;
+            int bestBase = -1;
+            for (var entry : freeBlocks.entrySet()) {
+                MemoryBlock block = entry.getValue();
+                if (block.size >= size && (bestFit == null || block.size < bestFit.size)) {
+                    bestFit = block;
+                    bestBase = entry.getKey();
+                }
+            }
+            if (bestFit == null) return null;
+
+            freeBlocks.remove(bestBase);
+            if (bestFit.size > size) {
+                freeBlocks.put(bestBase + size, new MemoryBlock(bestBase + size, bestFit.size - size));
+            }
+            return new MemoryBlock(bestBase, size);
+        }
+
+        void release(MemoryBlock block) {
+            freeBlocks.put(block.start, block);
+            coalesce();
+        }
+
+        private void coalesce() {
+            TreeMap<Integer, MemoryBlock> merged = new TreeMap<>();
+            MemoryBlock current = null;
+            for (MemoryBlock block : freeBlocks.values()) {
+                if (current == null) {
+                    current = new MemoryBlock(block.start, block.size);
+                } else if (current.start + current.size == block.start) {
+                    current.size += block.size;
+                } else {
+                    merged.put(current.start, current);
+                    current = new MemoryBlock(block.start, block.size);
+                }
+            }
+            if (current != null) merged.put(current.start, current);
+            freeBlocks = merged;
+        }
+    }
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        differential(200, 2000);
+        benchmark(operations);
+    }
+
+    // Misma secuencia de reservas y liberaciones en los dos; cualquier diferencia detiene la prueba
+    private static void differential(int seeds, int steps) {
+        for (int seed = 0; seed < seeds; seed++) {
+            Random random = new Random(seed);
+            int total = 256 + random.nextInt(2048);
+            MemoryManager current = new MemoryManager(total);
+            LegacyBestFit legacy = new LegacyBestFit(total);
+            List<MemoryBlock[]> live = new ArrayList<>();
+
+            for (int step = 0; step < steps; step++) {
+                if (live.isEmpty() || random.nextInt(100) < 55) {
+                    int size = 1 + random.nextInt(Math.max(1, total / 8));
+                    MemoryBlock a = current.place(size);
+                    MemoryBlock b = legacy.place(size);
+                    if ((a == null) != (b == null) || (a != null && a.start != b.start)) {
+                        fail(seed, step, "reserva de " + size + ": " + describe(a) + " frente a " + describe(b));
+                    }
+                    if (a != null) live.add(new MemoryBlock[] {a, b});
+                } else {
+                    MemoryBlock[] pair = live.remove(random.nextInt(live.size()));
+                    current.release(pair[0]);
+                    legacy.release(pair[1]);
+                }
+                compare(seed, step, current, legacy);
+            }
+        }
+        System.out.println("Prueba diferencial: " + seeds + " semillas x " + steps + " pasos, resultados idénticos");
+    }
+
+    private static void compare(int seed, int step, MemoryManager current, LegacyBestFit legacy) {
+        if (current.freeBlocks.size() != legacy.freeBlocks.size() ||
+                current.freeBySize.size() != current.freeBlocks.size()) {
+            fail(seed, step, "número de huecos distinto");
+        }
+        for (MemoryBlock expected : legacy.freeBlocks.values()) {
+            MemoryBlock actual = current.freeBlocks.get(expected.start);
+            if (actual == null || actual.size != expected.size || !current.freeBySize.contains(actual)) {
+                fail(seed, step, "hueco " + describe(expected) + " frente a " + describe(actual));
+            }
+        }
+    }
+
+    private static String describe(MemoryBlock b) {
+        return b == null ? "ninguno" : "[" + b.start + "+" + b.size + "]";
+    }
+
+    private static void fail(int seed, int step, String message) {
+        throw new IllegalStateException("Semilla " + seed + ", paso " + step + ": " + message);
+    }
+
+    // Se mantienen vivos unos 'live' bloques de 1 a 64 unidades; cada paso reserva o libera uno al azar
+    private static void benchmark(int operations) {
+        int live = 20_000;
+        int total = live * 64;
+        // El recorrido lineal es O(huecos) por operación: se mide con menos operaciones y se compara por operación
+        int legacyOperations = Math.min(operations, 100_000);
+
+        for (int round = 0; round < 3; round++) {
+            MemoryManager current = new MemoryManager(total);
+            long indexed = time(current::place, current::release, operations, live);
+            LegacyBestFit legacy = new LegacyBestFit(total);
+            long scan = time(legacy::place, legacy::release, legacyOperations, live);
+            System.out.printf("Ronda %d: indexado %.0f ns/op (%d ops), recorrido lineal %.0f ns/op (%d ops)%n",
+                    round + 1, (double) indexed / operations, operations,
+                    (double) scan / legacyOperations, legacyOperations);
+        }
+    }
+
+    private interface Placer {
+        MemoryBlock place(int size);
+    }
+
+    private interface Releaser {
+        void release(MemoryBlock block);
+    }
+
+    private static long time(Placer placer, Releaser releaser, int operations, int live) {
+        Random random = new Random(42);
+        MemoryBlock[] blocks = new MemoryBlock[live];
+        int count = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            if (count < live && (count < live / 2 || random.nextBoolean())) {
+                MemoryBlock b = placer.place(1 + random.nextInt(64));
+                if (b != null) blocks[count++] = b;
+            } else {
+                int victim = random.nextInt(count);
+                releaser.release(blocks[victim]);
+                blocks[victim] = blocks[--count];
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,103 @@
+package Manager;
+
+import Memory.MemoryBlock;
+
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Sistema buddy binario: bloques de tamaño potencia de dos, división y fusión en O(log n)
+public class BuddyAllocator extends AbstractAllocator {
+
+    private int maxOrder;
+    private TreeSet<Integer>[] freeLists; // direcciones libres por orden (tamaño 2^orden)
+    private int freeMemory = 0;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BuddyAllocator(int total) {
+        super(total);
+        this.maxOrder = 31 - Integer.numberOfLeadingZeros(total);
+        this.freeLists = new TreeSet[maxOrder + 1];
+        for (int k = 0; k <= maxOrder; k++) {
+            freeLists[k] = new TreeSet<>();
+        }
+
+        // Si el total no es potencia de dos, se cubre con bloques alineados decrecientes
+        int start = 0;
+        for (int k = maxOrder; k >= 0; k--) {
+            if (total - start >= (1 << k)) {
+                freeLists[k].add(start);
+                start += 1 << k;
+            }
+        }
+        freeMemory = start;
+    }
+
+    @Override
+    public String getPolicyName() { return "Buddy"; }
+
+    private static int orderFor(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    @Override
+    protected MemoryBlock place(int size) {
+        int order = orderFor(size);
+        if (order > maxOrder) return null;
+
+        // Orden más pequeño con un bloque libre
+        int j = order;
+        while (j <= maxOrder && freeLists[j].isEmpty()) j++;
+        if (j > maxOrder) return null;
+
+        int start = freeLists[j].pollFirst();
+
+        // Dividir hasta el orden pedido, dejando libre la mitad superior
+        while (j > order) {
+            j--;
+            freeLists[j].add(start + (1 << j));
+        }
+
+        freeMemory -= 1 << order;
+        return new MemoryBlock(start, 1 << order);
+    }
+
+    @Override
+    protected void release(MemoryBlock block) {
+        int order = orderFor(block.size);
+        int start = block.start;
+        freeMemory += block.size;
+
+        // Fusionar con el buddy mientras esté libre
+        while (order < maxOrder) {
+            int buddy = start ^ (1 << order);
+            if (!freeLists[order].remove(buddy)) break;
+            start = Math.min(start, buddy);
+            order++;
+        }
+        freeLists[order].add(start);
+    }
+
+    @Override
+    public int getFreeMemory() { return freeMemory; }
+
+    @Override
+    public int getLargestFreeBlock() {
+        for (int k = maxOrder; k >= 0; k--) {
+            if (!freeLists[k].isEmpty()) return 1 << k;
+        }
+        return 0;
+    }
+
+    @Override
+    protected void printFreeBlocks() {
+        TreeMap<Integer, Integer> blocks = new TreeMap<>();
+        for (int k = 0; k <= maxOrder; k++) {
+            for (int start : freeLists[k]) blocks.put(start, 1 << k);
+        }
+        for (var entry : blocks.entrySet()) {
+            int start = entry.getKey();
+            int size = entry.getValue();
+            System.out.println("  [" + start + "-" + (start + size - 1) + "] (" + size + " unidades)");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package Manager;
+
+import Memory.MemoryBlock;
+
+public class FirstFitAllocator extends FreeListAllocator {
+
+    public FirstFitAllocator(int total) {
+        super(total);
+    }
+
+    @Override
+    public String getPolicyName() { return "First-fit"; }
+
+    @Override
+    protected MemoryBlock selectBlock(int size) {
+        // First-fit: el primer hueco por dirección donde cabe
+        for (MemoryBlock block : freeBlocks.values()) {
+            if (block.size >= size) return block;
+        }
+        return null;
+    }
+}
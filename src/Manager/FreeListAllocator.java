@@ -0,0 +1,142 @@
+package Manager;
+
+import Memory.MemoryBlock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Base de las políticas sobre lista de huecos: first-fit, next-fit, best-fit y worst-fit
+public abstract class FreeListAllocator extends AbstractAllocator {
+
+    protected TreeMap<Integer, MemoryBlock> freeBlocks = new TreeMap<>();
+
+    // Índice de bloques libres ordenado por (tamaño, dirección)
+    private static final Comparator<MemoryBlock> BY_SIZE =
+            Comparator.<MemoryBlock>comparingInt(b -> b.size).thenComparingInt(b -> b.start);
+    protected TreeSet<MemoryBlock> freeBySize = new TreeSet<>(BY_SIZE);
+
+    private int freeMemory = 0;
+
+    protected FreeListAllocator(int total) {
+        super(total);
+        // Inicializar con un bloque grande libre
+        addFree(new MemoryBlock(0, total));
+    }
+
+    // Elegir el hueco donde colocar 'size' unidades, o null si ninguno sirve
+    protected abstract MemoryBlock selectBlock(int size);
+
+    @Override
+    protected MemoryBlock place(int size) {
+        MemoryBlock hole = selectBlock(size);
+        if (hole == null) return null;
+
+        int base = hole.start;
+
+        // Quitar el bloque libre
+        removeFree(hole);
+
+        // Si hay espacio sobrante, se reutiliza el mismo bloque como hueco libre
+        if (hole.size > size) {
+            hole.start = base + size;
+            hole.size -= size;
+            addFree(hole);
+        }
+
+        return new MemoryBlock(base, size);
+    }
+
+    @Override
+    protected void release(MemoryBlock block) {
+        insertFree(block);
+    }
+
+    // Ambos índices se actualizan siempre juntos
+    protected void addFree(MemoryBlock block) {
+        freeBlocks.put(block.start, block);
+        freeBySize.add(block);
+        freeMemory += block.size;
+    }
+
+    protected void removeFree(MemoryBlock block) {
+        freeBlocks.remove(block.start);
+        freeBySize.remove(block);
+        freeMemory -= block.size;
+    }
+
+    // La lista libre siempre está fusionada, así que basta mirar el hueco anterior y el siguiente.
+    // floorKey/ceilingKey no crean la entrada que sí devuelven floorEntry/ceilingEntry
+    private void insertFree(MemoryBlock block) {
+        MemoryBlock merged = block;
+
+        Integer lower = freeBlocks.floorKey(block.start);
+        if (lower != null) {
+            MemoryBlock prev = freeBlocks.get(lower);
+            if (prev.start + prev.size == block.start) {
+                removeFree(prev);
+                prev.size += block.size; // une
+                merged = prev;
+            }
+        }
+
+        Integer higher = freeBlocks.ceilingKey(block.start + block.size);
+        if (higher != null) {
+            MemoryBlock next = freeBlocks.get(higher);
+            if (next.start == merged.start + merged.size) {
+                removeFree(next);
+                merged.size += next.size; // une
+            }
+        }
+
+        addFree(merged);
+    }
+
+    @Override
+    public int compact() {
+        List<Integer> pids = new ArrayList<>(allocated.keySet());
+        pids.sort(Comparator.comparingInt(pid -> allocated.get(pid).start));
+
+        // Deslizar cada bloque hacia la dirección más baja libre, en orden de dirección
+        int next = 0;
+        int moved = 0;
+        for (int pid : pids) {
+            MemoryBlock block = allocated.get(pid);
+            if (block.start != next) {
+                physical.copy(block.start, next, block.size);
+                block.start = next;
+                owners.get(pid).allocateMemory(next);
+                moved += block.size;
+            }
+            next += block.size;
+        }
+
+        // Todo el espacio libre queda en un único hueco al final
+        freeBlocks.clear();
+        freeBySize.clear();
+        freeMemory = 0;
+        if (next < totalMemory) {
+            physical.clear(next, totalMemory - next);
+            addFree(new MemoryBlock(next, totalMemory - next));
+        }
+        return moved;
+    }
+
+    @Override
+    public int getFreeMemory() { return freeMemory; }
+
+    @Override
+    public int getLargestFreeBlock() {
+        return freeBySize.isEmpty() ? 0 : freeBySize.last().size;
+    }
+
+    @Override
+    protected void printFreeBlocks() {
+        for (var entry : freeBlocks.entrySet()) {
+            MemoryBlock b = entry.getValue();
+            System.out.println("  [" + b.start + "-" + (b.start + b.size - 1) + "] (" + b.size + " unidades)");
+        }
+    }
+}
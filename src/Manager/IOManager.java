@@ -1,83 +1,305 @@
 package Manager;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import IO.DeviceRegistry;
 import IO.IORequest;
 import IO.IODevice;
-import Process.PCB;
+import IO.IOOperation;
 import Process.Process;
 
 public class IOManager {
-    private Map<String, IODevice> devices = new HashMap<>();
-    private Queue<IORequestWrapper> pendingRequests = new LinkedList<>();
-    private Map<Integer, Process> waitingProcesses = new HashMap<>();
-    private List<Process> completedIO = new ArrayList<>();
+    private DeviceRegistry devices;
+
+    // Próximas finalizaciones como (tiempo << 32 | identificador); las entradas viejas se descartan al salir
+    private PriorityQueue<Long> completions = new PriorityQueue<>();
+    private int[] queuedAt = new int[0]; // última finalización encolada por dispositivo
+
+    // Operación enviada al dispositivo → solicitudes originales que atiende (más de una si se fusionaron)
+    private Map<IORequest, List<IORequestWrapper>> inFlight = new IdentityHashMap<>();
+    private Map<Integer, Integer> waitingProcesses = new HashMap<>(); // solicitudes en curso por PID
+
+    // Lotes tapados por dispositivo: las solicitudes se acumulan hasta llenar el lote o vencer el plazo
+    private List<Batch> batches = new ArrayList<>();        // por identificador, null si no está tapado
+    private List<Batch> plugged = new ArrayList<>();
+    private int submitted = 0;
+    private int deviceOperations = 0;
+    private long savedDeviceTime = 0;
 
     public IOManager() {
-        // Initialize devices
-        devices.put("DISK", new IODevice("DISK"));
-        devices.put("PRINTER", new IODevice("PRINTER"));
-        devices.put("NETWORK", new IODevice("NETWORK"));
+        this(DeviceRegistry.standard());
+    }
+
+    public IOManager(DeviceRegistry devices) {
+        this.devices = devices;
+        grow();
+    }
+
+    // Registrar en tiempo de ejecución un dispositivo nuevo o reemplazar uno sin trabajo pendiente
+    public int registerDevice(IODevice device) {
+        int handle = devices.register(device);
+        grow();
+        return handle;
+    }
+
+    private void grow() {
+        int n = devices.size();
+        if (queuedAt.length < n) {
+            int old = queuedAt.length;
+            queuedAt = Arrays.copyOf(queuedAt, Math.max(n, old * 2));
+            Arrays.fill(queuedAt, old, queuedAt.length, -1);
+        }
+        while (batches.size() < n) batches.add(null);
+    }
+
+    public IODevice getDevice(String name) {
+        int handle = devices.resolve(name);
+        return handle == -1 ? null : devices.get(handle);
+    }
+
+    public IODevice getDevice(int handle) {
+        return devices.get(handle);
     }
 
     // Envoltorio para realizar un seguimiento tanto de la solicitud como del proceso
     private static class IORequestWrapper {
         IORequest request;
         Process process;
+        int order;       // orden de envío
+        CompletableFuture<IORequest> completion = new CompletableFuture<>();
 
-        IORequestWrapper(IORequest req, Process proc) {
+        IORequestWrapper(IORequest req, Process proc, int order) {
             this.request = req;
             this.process = proc;
+            this.order = order;
+        }
+    }
+
+    private static class Batch {
+        int handle;
+        int size;        // solicitudes que destapan el lote
+        int maxDelay;    // espera máxima desde la primera solicitud del lote
+        int deadline = -1;
+        List<IORequestWrapper> requests = new ArrayList<>();
+
+        Batch(int handle, int size, int maxDelay) {
+            this.handle = handle;
+            this.size = size;
+            this.maxDelay = maxDelay;
+        }
+    }
+
+    // Agrupar las solicitudes del dispositivo en lotes; las contiguas o solapadas con la misma
+    // operación se fusionan en una sola operación del dispositivo. Un tamaño menor que 2 lo desactiva
+    public void setBatching(String deviceName, int batchSize, int maxDelay) {
+        int handle = resolve(deviceName);
+        Batch old = batches.get(handle);
+        if (old != null && !old.requests.isEmpty()) {
+            throw new IllegalStateException("El lote de " + deviceName + " tiene solicitudes pendientes");
         }
+        plugged.remove(old);
+
+        Batch batch = batchSize < 2 ? null : new Batch(handle, batchSize, maxDelay);
+        batches.set(handle, batch);
+        if (batch != null) plugged.add(batch);
     }
 
-    public void submitRequest(IORequest request, Process process) {
-        pendingRequests.add(new IORequestWrapper(request, process));
-        waitingProcesses.put(request.getPid(), process);
+    private int resolve(String deviceName) {
+        int handle = devices.resolve(deviceName);
+        if (handle == -1) {
+            throw new IllegalArgumentException("Dispositivo de E/S desconocido: " + deviceName);
+        }
+        return handle;
+    }
+
+    // La solicitud espera en la cola de su dispositivo; el futuro se completa cuando termina,
+    // dentro de advanceTo, así que quien se suscriba recibe el aviso en el tiempo simulado correcto
+    public CompletableFuture<IORequest> submitRequest(IORequest request, Process process, int now) {
+        // Único acceso por nombre; a partir de aquí todo va por identificador
+        int handle = resolve(request.getDeviceName());
+
+        IORequestWrapper wrapper = new IORequestWrapper(request, process, submitted++);
+        waitingProcesses.merge(request.getPid(), 1, Integer::sum);
+        request.setSubmitTime(now);
         System.out.println("✓ PID " + request.getPid() + " envió solicitud de E/S: " +
                 request.getOperation() + " en " + request.getDeviceName());
+
+        Batch batch = batches.get(handle);
+        if (batch == null) {
+            // Empieza ya si el dispositivo tiene un canal libre
+            send(handle, request, Collections.singletonList(wrapper), now);
+            return wrapper.completion;
+        }
+
+        if (batch.requests.isEmpty()) {
+            batch.deadline = now + batch.maxDelay;
+        }
+        batch.requests.add(wrapper);
+        if (batch.requests.size() >= batch.size || batch.deadline <= now) {
+            unplug(batch, now);
+        }
+        return wrapper.completion;
+    }
+
+    private void send(int handle, IORequest operation, List<IORequestWrapper> waiters, int now) {
+        inFlight.put(operation, waiters);
+        deviceOperations++;
+        devices.get(handle).submit(operation, now);
+        track(handle);
+    }
+
+    // Mantener en el montículo la próxima finalización del dispositivo
+    private void track(int handle) {
+        int time = devices.get(handle).getCompletionTime();
+        if (time != -1 && time != queuedAt[handle]) {
+            completions.add((long) time << 32 | handle);
+            queuedAt[handle] = time;
+        }
     }
 
-    public void processIO() {
-        // Marcar todos los dispositivos (operaciones de E/S avanzadas)
-        for (IODevice device : devices.values()) {
-            IORequest completed = device.tick();
-            if (completed != null) {
-                // E/S completada, mover el proceso de nuevo al estado listo
-                Process p = waitingProcesses.remove(completed.getPid());
-                if (p != null) {
-                    completedIO.add(p);
-                    System.out.println("✓ E/S completada para el PID " + completed.getPid());
-                }
+    // Destapar el lote: fusionar lo contiguo y enviarlo al dispositivo en orden de llegada
+    private void unplug(Batch batch, int now) {
+        IODevice device = devices.get(batch.handle);
+        List<IORequestWrapper> sorted = new ArrayList<>(batch.requests);
+        batch.requests.clear();
+        batch.deadline = -1;
+
+        // Ordenar por operación y bloque para encontrar rangos contiguos o solapados
+        sorted.sort(Comparator.<IORequestWrapper, IOOperation>comparing(w -> w.request.getOperation())
+                .thenComparingInt(w -> w.request.getBlock()));
+
+        List<List<IORequestWrapper>> groups = new ArrayList<>();
+        List<IORequestWrapper> group = null;
+        int groupEnd = 0;
+        // Las solicitudes sin bloque (-1) no tienen rango: cada una va sola y no abre grupo para otras
+        for (IORequestWrapper w : sorted) {
+            IORequest r = w.request;
+            IORequest head = group == null ? null : group.get(0).request;
+            boolean joins = head != null && head.getBlock() >= 0 && r.getBlock() >= 0 &&
+                    r.getOperation() == head.getOperation() && r.getBlock() <= groupEnd;
+            if (!joins) {
+                group = new ArrayList<>();
+                groups.add(group);
+                groupEnd = 0;
             }
+            group.add(w);
+            groupEnd = Math.max(groupEnd, r.getBlock() + r.getBlockCount());
         }
 
-        // Asignar solicitudes pendientes a dispositivos libres
-        Iterator<IORequestWrapper> it = pendingRequests.iterator();
-        while (it.hasNext()) {
-            IORequestWrapper wrapper = it.next();
-            IODevice device = devices.get(wrapper.request.getDeviceName());
+        // Cada grupo sale cuando habría salido su solicitud más antigua
+        groups.sort(Comparator.comparingInt(g -> g.stream().mapToInt(w -> w.order).min().getAsInt()));
+        for (List<IORequestWrapper> g : groups) {
+            IORequest operation = g.size() == 1 ? g.get(0).request : merge(device, g);
+            send(batch.handle, operation, g, now);
+        }
+    }
+
+    // Una operación que cubre todas las del grupo. Sin modelo de ancho de banda la duración es la mayor
+    private IORequest merge(IODevice device, List<IORequestWrapper> group) {
+        IORequest first = group.get(0).request;
+        int start = first.getBlock();
+        int end = start;
+        int size = 0;
+        int duration = 0;
+        int submitTime = Integer.MAX_VALUE;
+        long separate = 0;
+        for (IORequestWrapper w : group) {
+            IORequest r = w.request;
+            end = Math.max(end, r.getBlock() + r.getBlockCount());
+            size += r.getSize();
+            duration = Math.max(duration, r.getDuration());
+            submitTime = Math.min(submitTime, r.getSubmitTime());
+            separate += device.serviceTime(r);
+        }
+        // Los solapamientos no se transfieren dos veces
+        size = Math.min(size, (end - start) * IORequest.BLOCK_SIZE);
 
-            if (device != null && !device.isBusy()) {
-                device.startIO(wrapper.request);
-                it.remove();
+        IORequest merged = new IORequest(first.getPid(), first.getDeviceName(), duration,
+                first.getOperation(), size, start);
+        merged.setSubmitTime(submitTime);
+        savedDeviceTime += separate - device.serviceTime(merged);
+        System.out.println("  ⇉ Fusionadas " + group.size() + " solicitudes " + first.getOperation() +
+                " en " + device.getName() + " → bloques [" + start + "-" + (end - 1) + "]");
+        return merged;
+    }
+
+    // Completar todas las operaciones que terminan hasta 'now'; cada canal liberado
+    // empieza la siguiente solicitud de la cola justo cuando acaba la anterior
+    public void advanceTo(int now) {
+        // Los lotes vencidos salen al dispositivo en su plazo
+        for (Batch batch : plugged) {
+            if (!batch.requests.isEmpty() && batch.deadline <= now) {
+                unplug(batch, batch.deadline);
+            }
+        }
+
+        // Finalizaciones en orden de tiempo (a igual tiempo, por identificador)
+        while (!completions.isEmpty() && (int) (completions.peek() >>> 32) <= now) {
+            long entry = completions.poll();
+            int time = (int) (entry >>> 32);
+            int handle = (int) entry;
+            if (queuedAt[handle] == time) queuedAt[handle] = -1;
+
+            IODevice device = devices.get(handle);
+            if (device.getCompletionTime() != time) continue; // entrada vieja
+
+            IORequest completed = device.completeIO();
+            track(handle);
+
+            // E/S completada, avisar a todos los que esperaban alguna de las solicitudes fusionadas
+            for (IORequestWrapper wrapper : inFlight.remove(completed)) {
+                IORequest original = wrapper.request;
+                waitingProcesses.computeIfPresent(original.getPid(), (pid, n) -> n == 1 ? null : n - 1);
+                System.out.println("✓ E/S completada para el PID " + original.getPid());
+                wrapper.completion.complete(original);
             }
         }
     }
 
-    public List<Process> getCompletedIO() {
-        List<Process> result = new ArrayList<>(completedIO);
-        completedIO.clear();
-        return result;
+    // Próximo instante en que el gestor necesita avanzar: termina una operación o vence un lote; -1 si ninguno
+    public int nextEventTime() {
+        // Descartar entradas viejas para no despertar sin motivo
+        while (!completions.isEmpty()) {
+            long entry = completions.peek();
+            if (devices.get((int) entry).getCompletionTime() == (int) (entry >>> 32)) break;
+            completions.poll();
+        }
+
+        int next = completions.isEmpty() ? -1 : (int) (completions.peek() >>> 32);
+        for (Batch batch : plugged) {
+            if (!batch.requests.isEmpty() && (next == -1 || batch.deadline < next)) {
+                next = batch.deadline;
+            }
+        }
+        return next;
     }
 
     public boolean hasPendingIO() {
-        for (IODevice device : devices.values()) {
-            if (device.isBusy()) return true;
+        for (Batch batch : plugged) {
+            if (!batch.requests.isEmpty()) return true;
         }
-        return !pendingRequests.isEmpty() || !waitingProcesses.isEmpty();
+        return !inFlight.isEmpty();
     }
 
     public boolean isProcessWaitingForIO(int pid) {
         return waitingProcesses.containsKey(pid);
     }
-}
\ No newline at end of file
+
+    // Rendimiento de los dispositivos que atendieron alguna solicitud
+    public void printStatistics(int now) {
+        boolean header = false;
+        for (int handle = 0; handle < devices.size(); handle++) {
+            IODevice device = devices.get(handle);
+            if (device.getCompleted() == 0) continue;
+            if (!header) {
+                System.out.println("Disp.\tCanales\tOps\tOps/tiempo\tDatos\tCola media\tCola máx.\tOcupación\tLatencia media");
+                header = true;
+            }
+            device.printStatistics(now);
+        }
+        if (deviceOperations < submitted) {
+            System.out.printf("Fusión de E/S: %d solicitudes en %d operaciones (ratio %.2f), tiempo de dispositivo ahorrado: %d\n",
+                    submitted, deviceOperations, (double) submitted / deviceOperations, savedDeviceTime);
+        }
+    }
+}
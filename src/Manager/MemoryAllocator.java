@@ -0,0 +1,41 @@
+package Manager;
+
+import Process.PCB;
+
+public interface MemoryAllocator {
+    boolean allocate(PCB pcb, int size);
+    void free(PCB pcb);
+    void printMemoryMap();
+
+    // Tiempo extra (p. ej. fallos de página) que cuesta ejecutar 'time' unidades del proceso
+    default int access(PCB pcb, int time) { return 0; }
+
+    // false si access() nunca cuesta nada: el despachador avanza entonces las porciones sin recorrer cada unidad
+    default boolean hasAccessCost() { return false; }
+
+    // Reubicar los bloques asignados para juntar todos los huecos en uno; devuelve las unidades movidas
+    default int compact() { return 0; }
+
+    // Métricas para comparar políticas de ubicación
+    String getPolicyName();
+    int getFreeMemory();
+    int getLargestFreeBlock();
+    long getAllocationCount();
+    long getFailedAllocations();
+    double getAverageAllocationLatency(); // en nanosegundos
+
+    // Fragmentación externa: 1 - (hueco más grande / memoria libre total)
+    default double getExternalFragmentation() {
+        int free = getFreeMemory();
+        if (free == 0) return 0;
+        return 1.0 - (double) getLargestFreeBlock() / free;
+    }
+
+    default void printStatistics() {
+        System.out.println("Memoria [" + getPolicyName() + "]: " +
+                getAllocationCount() + " asignaciones, " +
+                getFailedAllocations() + " fallidas, " +
+                String.format("latencia media %.0f ns, fragmentación externa %.2f",
+                        getAverageAllocationLatency(), getExternalFragmentation()));
+    }
+}
@@ -0,0 +1,42 @@
+package Manager;
+
+import Memory.MemoryBlock;
+
+public class NextFitAllocator extends FreeListAllocator {
+
+    // Dirección donde terminó la última asignación
+    private int rover = 0;
+
+    public NextFitAllocator(int total) {
+        super(total);
+    }
+
+    @Override
+    public String getPolicyName() { return "Next-fit"; }
+
+    @Override
+    protected MemoryBlock selectBlock(int size) {
+        // Next-fit: como first-fit pero retomando la búsqueda desde la última asignación.
+        // Si el rover cae dentro de un hueco (p. ej. tras una fusión), ese hueco es el primer candidato
+        int from = rover;
+        Integer floor = freeBlocks.floorKey(rover);
+        if (floor != null && floor + freeBlocks.get(floor).size > rover) {
+            from = floor;
+        }
+        MemoryBlock found = search(freeBlocks.tailMap(from, true).values(), size);
+        if (found == null) {
+            found = search(freeBlocks.headMap(from, false).values(), size);
+        }
+        if (found != null) {
+            rover = found.start + size;
+        }
+        return found;
+    }
+
+    private MemoryBlock search(Iterable<MemoryBlock> blocks, int size) {
+        for (MemoryBlock block : blocks) {
+            if (block.size >= size) return block;
+        }
+        return null;
+    }
+}
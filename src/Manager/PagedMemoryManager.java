@@ -0,0 +1,203 @@
+package Manager;
+
+import Memory.Memory;
+import Memory.PageTable;
+import Memory.ReplacementPolicy;
+import Memory.TLB;
+import Process.PCB;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+// Memoria virtual paginada con paginación por demanda: un proceso nunca espera por un hueco contiguo
+public class PagedMemoryManager implements MemoryAllocator {
+
+    private int pageSize;
+    private int frameCount;
+    private int pageFaultCost;
+    private ReplacementPolicy policy;
+    private TLB tlb;
+    private Memory physical;
+
+    private ArrayDeque<Integer> freeFrames = new ArrayDeque<>();
+    private PCB[] frameOwner;   // proceso dueño de cada marco
+    private int[] framePage;    // página virtual cargada en cada marco
+    private Map<Integer, PCB> residents = new HashMap<>();
+
+    private long allocations = 0;
+    private long totalLatency = 0;
+    private long pageFaults = 0;
+    private long evictions = 0;
+
+    public PagedMemoryManager(int total, int pageSize, int tlbSize, ReplacementPolicy policy, int pageFaultCost) {
+        // Sin al menos un marco no hay dónde cargar una página y el reemplazo no tendría víctima
+        if (pageSize <= 0 || total < pageSize) {
+            throw new IllegalArgumentException("Geometría de paginación no válida: " + total +
+                    " unidades en páginas de " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.frameCount = total / pageSize;
+        this.pageFaultCost = pageFaultCost;
+        this.policy = policy;
+        this.tlb = new TLB(tlbSize);
+        this.physical = new Memory(frameCount * pageSize);
+        this.frameOwner = new PCB[frameCount];
+        this.framePage = new int[frameCount];
+
+        policy.init(frameCount);
+        for (int f = 0; f < frameCount; f++) {
+            freeFrames.add(f);
+        }
+    }
+
+    @Override
+    public String getPolicyName() { return "Paginación " + policy.getName(); }
+
+    @Override
+    public boolean allocate(PCB pcb, int size) {
+        long start = System.nanoTime();
+
+        // Solo se crea la tabla de páginas; los marcos se cargan al primer acceso
+        int pages = (size + pageSize - 1) / pageSize;
+        pcb.allocatePages(new PageTable(pages));
+        residents.put(pcb.getPid(), pcb);
+
+        totalLatency += System.nanoTime() - start;
+        allocations++;
+
+        System.out.println("Tabla de páginas PID " + pcb.getPid() + " → " + pages +
+                " páginas de " + pageSize + " unidades");
+        return true;
+    }
+
+    @Override
+    public void free(PCB pcb) {
+        int pid = pcb.getPid();
+        if (residents.remove(pid) == null) return;
+
+        PageTable table = pcb.getPageTable();
+        int released = 0;
+        for (int page = 0; page < table.getPageCount(); page++) {
+            if (table.isValid(page)) {
+                int frame = table.getFrame(page);
+                policy.onRemove(frame);
+                releaseFrame(frame);
+                freeFrames.add(frame);
+                released++;
+            }
+        }
+        pcb.freeMemory();
+
+        System.out.println("Liberado PID " + pid + " → " + released + " marcos");
+    }
+
+    @Override
+    public boolean hasAccessCost() { return true; }
+
+    @Override
+    public int access(PCB pcb, int time) {
+        PageTable table = pcb.getPageTable();
+        if (table == null || table.getPageCount() == 0) return 0;
+
+        // Cada unidad de tiempo referencia la página de código (0) y una página de datos que se recorre en orden
+        int executed = pcb.getBurstTime() - pcb.getRemainingTime();
+        int faults = 0;
+        for (int t = executed; t < executed + time; t++) {
+            if (translate(pcb, 0)) faults++;
+            if (translate(pcb, t % table.getPageCount())) faults++;
+        }
+        return faults * pageFaultCost;
+    }
+
+    // Traduce una página virtual; devuelve true si hubo fallo de página
+    private boolean translate(PCB pcb, int page) {
+        int pid = pcb.getPid();
+        int frame = tlb.lookup(pid, page);
+        if (frame != -1) {
+            policy.onAccess(frame);
+            return false;
+        }
+
+        PageTable table = pcb.getPageTable();
+        boolean fault = !table.isValid(page);
+        if (fault) {
+            pageFaults++;
+            frame = freeFrames.isEmpty() ? evict() : freeFrames.poll();
+            table.map(page, frame);
+            frameOwner[frame] = pcb;
+            framePage[frame] = page;
+            physical.fill(frame * pageSize, pageSize, pid);
+            policy.onLoad(frame);
+        } else {
+            frame = table.getFrame(page);
+            policy.onAccess(frame);
+        }
+
+        tlb.insert(pid, page, frame);
+        return fault;
+    }
+
+    private int evict() {
+        int victim = policy.selectVictim();
+        releaseFrame(victim);
+        evictions++;
+        return victim;
+    }
+
+    private void releaseFrame(int frame) {
+        PCB owner = frameOwner[frame];
+        int page = framePage[frame];
+        owner.getPageTable().unmap(page);
+        tlb.invalidate(owner.getPid(), page);
+        frameOwner[frame] = null;
+        physical.clear(frame * pageSize, pageSize);
+    }
+
+    @Override
+    public int getFreeMemory() { return freeFrames.size() * pageSize; }
+
+    // Cualquier marco libre sirve, así que no hay fragmentación externa
+    @Override
+    public int getLargestFreeBlock() { return getFreeMemory(); }
+
+    @Override
+    public long getAllocationCount() { return allocations; }
+
+    @Override
+    public long getFailedAllocations() { return 0; }
+
+    @Override
+    public double getAverageAllocationLatency() {
+        if (allocations == 0) return 0;
+        return (double) totalLatency / allocations;
+    }
+
+    public Memory getPhysicalMemory() { return physical; }
+
+    public long getPageFaults() { return pageFaults; }
+    public long getTlbHits() { return tlb.getHits(); }
+    public long getTlbMisses() { return tlb.getMisses(); }
+
+    @Override
+    public void printStatistics() {
+        MemoryAllocator.super.printStatistics();
+        long lookups = tlb.getHits() + tlb.getMisses();
+        System.out.println("Paginación: " + pageFaults + " fallos de página, " + evictions + " desalojos, TLB " +
+                tlb.getHits() + " aciertos / " + tlb.getMisses() + " fallos" +
+                (lookups > 0 ? String.format(" (%.1f%% aciertos)", 100.0 * tlb.getHits() / lookups) : ""));
+    }
+
+    @Override
+    public void printMemoryMap() {
+        System.out.println("\n--- Mapa de Memoria ---");
+        System.out.println("Marcos:");
+        for (int f = 0; f < frameCount; f++) {
+            if (frameOwner[f] != null) {
+                System.out.println("  Marco " + f + ": PID " + frameOwner[f].getPid() + " página " + framePage[f]);
+            }
+        }
+        System.out.println("Libres: " + freeFrames.size() + " de " + frameCount + " marcos");
+        System.out.println("------------------\n");
+    }
+}
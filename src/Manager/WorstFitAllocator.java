@@ -0,0 +1,21 @@
+package Manager;
+
+import Memory.MemoryBlock;
+
+public class WorstFitAllocator extends FreeListAllocator {
+
+    public WorstFitAllocator(int total) {
+        super(total);
+    }
+
+    @Override
+    public String getPolicyName() { return "Worst-fit"; }
+
+    @Override
+    protected MemoryBlock selectBlock(int size) {
+        // Worst-fit: siempre el hueco más grande
+        if (freeBySize.isEmpty()) return null;
+        MemoryBlock largest = freeBySize.last();
+        return largest.size >= size ? largest : null;
+    }
+}
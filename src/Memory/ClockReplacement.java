@@ -0,0 +1,58 @@
+package Memory;
+
+public class ClockReplacement implements ReplacementPolicy {
+
+    private boolean[] loaded;
+    private boolean[] referenced;
+    private int hand = 0;
+    private int loadedCount = 0;
+
+    @Override
+    public String getName() { return "Clock"; }
+
+    @Override
+    public void init(int frames) {
+        loaded = new boolean[frames];
+        referenced = new boolean[frames];
+        hand = 0;
+        loadedCount = 0;
+    }
+
+    @Override
+    public void onLoad(int frame) {
+        if (!loaded[frame]) loadedCount++;
+        loaded[frame] = true;
+        referenced[frame] = true;
+    }
+
+    @Override
+    public void onAccess(int frame) { referenced[frame] = true; }
+
+    @Override
+    public void onRemove(int frame) {
+        if (loaded[frame]) loadedCount--;
+        loaded[frame] = false;
+        referenced[frame] = false;
+    }
+
+    @Override
+    public int selectVictim() {
+        // Sin marcos cargados la manecilla daría vueltas para siempre
+        if (loadedCount == 0) {
+            throw new IllegalStateException("No hay marcos cargados que desalojar");
+        }
+        // La manecilla avanza limpiando bits de referencia hasta encontrar uno a cero
+        while (true) {
+            int frame = hand;
+            hand = (hand + 1) % loaded.length;
+            if (!loaded[frame]) continue;
+            if (referenced[frame]) {
+                referenced[frame] = false;
+            } else {
+                loaded[frame] = false;
+                loadedCount--;
+                return frame;
+            }
+        }
+    }
+}
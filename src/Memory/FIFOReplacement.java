@@ -0,0 +1,32 @@
+package Memory;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+public class FIFOReplacement implements ReplacementPolicy {
+
+    private LinkedHashSet<Integer> queue = new LinkedHashSet<>();
+
+    @Override
+    public String getName() { return "FIFO"; }
+
+    @Override
+    public void init(int frames) { queue.clear(); }
+
+    @Override
+    public void onLoad(int frame) { queue.add(frame); }
+
+    @Override
+    public void onAccess(int frame) { }
+
+    @Override
+    public void onRemove(int frame) { queue.remove(frame); }
+
+    @Override
+    public int selectVictim() {
+        Iterator<Integer> it = queue.iterator();
+        int victim = it.next();
+        it.remove();
+        return victim;
+    }
+}
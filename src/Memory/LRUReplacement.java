@@ -0,0 +1,36 @@
+package Memory;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+public class LRUReplacement implements ReplacementPolicy {
+
+    // Orden de uso: el primero es el menos recientemente usado
+    private LinkedHashSet<Integer> order = new LinkedHashSet<>();
+
+    @Override
+    public String getName() { return "LRU"; }
+
+    @Override
+    public void init(int frames) { order.clear(); }
+
+    @Override
+    public void onLoad(int frame) { order.add(frame); }
+
+    @Override
+    public void onAccess(int frame) {
+        order.remove(frame);
+        order.add(frame);
+    }
+
+    @Override
+    public void onRemove(int frame) { order.remove(frame); }
+
+    @Override
+    public int selectVictim() {
+        Iterator<Integer> it = order.iterator();
+        int victim = it.next();
+        it.remove();
+        return victim;
+    }
+}
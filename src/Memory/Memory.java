@@ -1,6 +1,95 @@
 package Memory;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+// Memoria física simulada de un gestor: una celda int por unidad, fuera del heap.
+// Un MemorySegment (API FFM, definitiva desde JDK 22) serviría igual y sin fragmentos; se usan ByteBuffer
+// directos porque las direcciones del simulador son int y caben en fragmentos de menos de 2 GB, y el GC
+// los libera sin un Arena que gestione la vida de cada gestor
 public class Memory {
-    public static final int SIZE = 1024; // 1 KB de RAM simulada
-    public static int[] mem = new int[SIZE];
+    // Cada fragmento directo guarda 2^28 celdas (1 GB), así se superan los 2 GB de un solo ByteBuffer
+    private static final int CHUNK_SHIFT = 28;
+    private static final int CHUNK_CELLS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_CELLS - 1;
+
+    private final int size;
+    private final IntBuffer[] chunks;
+
+    public Memory(int size) {
+        this.size = size;
+        int count = (int) (((long) size + CHUNK_CELLS - 1) >>> CHUNK_SHIFT);
+        this.chunks = new IntBuffer[count];
+        for (int c = 0; c < count; c++) {
+            int cells = (int) Math.min(CHUNK_CELLS, (long) size - ((long) c << CHUNK_SHIFT));
+            chunks[c] = ByteBuffer.allocateDirect(cells * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        }
+    }
+
+    public int size() { return size; }
+
+    public int read(int address) {
+        return chunks[address >>> CHUNK_SHIFT].get(address & CHUNK_MASK);
+    }
+
+    public void write(int address, int value) {
+        chunks[address >>> CHUNK_SHIFT].put(address & CHUNK_MASK, value);
+    }
+
+    // Rellenar [start, start + length) con 'value' mediante copias en bloque que duplican el tramo escrito
+    public void fill(int start, int length, int value) {
+        while (length > 0) {
+            IntBuffer chunk = chunks[start >>> CHUNK_SHIFT];
+            int offset = start & CHUNK_MASK;
+            int n = Math.min(length, CHUNK_CELLS - offset);
+
+            chunk.put(offset, value);
+            int done = 1;
+            while (done < n) {
+                int step = Math.min(done, n - done);
+                chunk.put(offset + done, chunk, offset, step);
+                done += step;
+            }
+
+            start += n;
+            length -= n;
+        }
+    }
+
+    public void clear(int start, int length) {
+        fill(start, length, 0);
+    }
+
+    // Copiar [src, src + length) a [dst, dst + length); admite rangos solapados
+    public void copy(int src, int dst, int length) {
+        if (src == dst || length <= 0) return;
+
+        // Ventanas de como mucho |src - dst| celdas nunca se solapan entre sí
+        int window = (int) Math.min(length, Math.abs((long) src - dst));
+        if (dst < src) {
+            for (int done = 0; done < length; done += window) {
+                copyDisjoint(src + done, dst + done, Math.min(window, length - done));
+            }
+        } else {
+            for (int end = length; end > 0; end -= window) {
+                int n = Math.min(window, end);
+                copyDisjoint(src + end - n, dst + end - n, n);
+            }
+        }
+    }
+
+    private void copyDisjoint(int src, int dst, int length) {
+        while (length > 0) {
+            int srcOffset = src & CHUNK_MASK;
+            int dstOffset = dst & CHUNK_MASK;
+            int n = Math.min(length, Math.min(CHUNK_CELLS - srcOffset, CHUNK_CELLS - dstOffset));
+            chunks[dst >>> CHUNK_SHIFT].put(dstOffset, chunks[src >>> CHUNK_SHIFT], srcOffset, n);
+            src += n;
+            dst += n;
+            length -= n;
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package Memory;
+
+import java.util.Arrays;
+
+// Tabla de páginas de un proceso: marco asignado a cada página virtual, -1 si no está cargada
+public class PageTable {
+    private int[] frames;
+
+    public PageTable(int pages) {
+        this.frames = new int[pages];
+        Arrays.fill(frames, -1);
+    }
+
+    public int getPageCount() { return frames.length; }
+    public int getFrame(int page) { return frames[page]; }
+    public boolean isValid(int page) { return frames[page] != -1; }
+    public void map(int page, int frame) { frames[page] = frame; }
+    public void unmap(int page) { frames[page] = -1; }
+}
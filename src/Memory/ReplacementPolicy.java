@@ -0,0 +1,11 @@
+package Memory;
+
+// Política de reemplazo de marcos para la paginación por demanda
+public interface ReplacementPolicy {
+    String getName();
+    void init(int frames);
+    void onLoad(int frame);    // se cargó una página en el marco
+    void onAccess(int frame);  // se referenció el marco
+    void onRemove(int frame);  // el marco quedó libre
+    int selectVictim();        // elegir y quitar el marco a desalojar
+}
@@ -0,0 +1,47 @@
+package Memory;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+public class SecondChanceReplacement implements ReplacementPolicy {
+
+    private LinkedHashSet<Integer> queue = new LinkedHashSet<>();
+    private boolean[] referenced;
+
+    @Override
+    public String getName() { return "Segunda oportunidad"; }
+
+    @Override
+    public void init(int frames) {
+        queue.clear();
+        referenced = new boolean[frames];
+    }
+
+    @Override
+    public void onLoad(int frame) {
+        queue.add(frame);
+        referenced[frame] = false;
+    }
+
+    @Override
+    public void onAccess(int frame) { referenced[frame] = true; }
+
+    @Override
+    public void onRemove(int frame) {
+        queue.remove(frame);
+        referenced[frame] = false;
+    }
+
+    @Override
+    public int selectVictim() {
+        // FIFO, pero una página referenciada vuelve al final de la cola con el bit limpio
+        while (true) {
+            Iterator<Integer> it = queue.iterator();
+            int frame = it.next();
+            it.remove();
+            if (!referenced[frame]) return frame;
+            referenced[frame] = false;
+            queue.add(frame);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package Memory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// TLB totalmente asociativa con reemplazo LRU
+public class TLB {
+    private int capacity;
+    private long hits = 0;
+    private long misses = 0;
+    private LinkedHashMap<Long, Integer> entries;
+
+    public TLB(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > TLB.this.capacity;
+            }
+        };
+    }
+
+    private static long key(int pid, int page) {
+        return ((long) pid << 32) | (page & 0xffffffffL);
+    }
+
+    // Devuelve el marco o -1 si no está en la TLB
+    public int lookup(int pid, int page) {
+        Integer frame = entries.get(key(pid, page));
+        if (frame == null) {
+            misses++;
+            return -1;
+        }
+        hits++;
+        return frame;
+    }
+
+    public void insert(int pid, int page, int frame) {
+        if (capacity > 0) entries.put(key(pid, page), frame);
+    }
+
+    public void invalidate(int pid, int page) {
+        entries.remove(key(pid, page));
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+}
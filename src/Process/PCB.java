@@ -1,5 +1,7 @@
 package Process;
 
+import Memory.PageTable;
+
 public class PCB {
 
     public enum ProcessState { NEW, READY, RUNNING, WAITING, TERMINATED }
@@ -11,8 +13,35 @@ public class PCB {
     private int burstTime;        // Total CPU time needed
     private int remainingTime;    // Time left to execute
 
+    // Planificación justa (CFS): peso según el valor nice y tiempo virtual acumulado
+    public static final int NICE_0_WEIGHT = 1024;
+    private static final int[] NICE_TO_WEIGHT = {
+        /* -20 */ 88761, 71755, 56483, 46273, 36291,
+        /* -15 */ 29154, 23254, 18705, 14949, 11916,
+        /* -10 */ 9548, 7620, 6100, 4904, 3906,
+        /*  -5 */ 3121, 2501, 1991, 1586, 1277,
+        /*   0 */ 1024, 820, 655, 526, 423,
+        /*   5 */ 335, 272, 215, 172, 137,
+        /*  10 */ 110, 87, 70, 56, 45,
+        /*  15 */ 36, 29, 23, 18, 15,
+    };
+    private int nice = 0;
+    private int weight = NICE_0_WEIGHT;
+    private long vruntime = 0;    // tiempo × NICE_0_WEIGHT, escalado por NICE_0_WEIGHT / peso
+
+    private int priority = 0;     // menor valor = más prioridad
+
+    // Cola multinivel (MLFQ): nivel actual e instante en que se fijó, para que un impulso posterior lo anule
+    private int queueLevel = 0;
+    private int queueLevelTime = 0;
+
+    // Multiprocesador: bit i encendido si el proceso puede correr en la CPU i
+    private long affinity = -1L;
+    private int lastCpu = -1;     // CPU en la que corrió por última vez
+
     private int memoryRequired;
     private int memoryBase = -1;
+    private PageTable pageTable;  // solo en modo paginado
 
     // Seguimiento de métricas
     private int completionTime = -1;
@@ -33,18 +62,53 @@ public class PCB {
     public int getRemainingTime() { return remainingTime; }
     public int getMemoryRequired() { return memoryRequired; }
     public int getMemoryBase() { return memoryBase; }
+    public PageTable getPageTable() { return pageTable; }
     public int getArrivalTime() { return arrivalTime; }
     public int getCompletionTime() { return completionTime; }
     public ProcessState getState() { return state; }
+    public int getNice() { return nice; }
+    public int getWeight() { return weight; }
+    public long getVruntime() { return vruntime; }
+
+    public void setNice(int nice) {
+        this.nice = Math.max(-20, Math.min(19, nice));
+        this.weight = NICE_TO_WEIGHT[this.nice + 20];
+    }
+
+    public void setVruntime(long vruntime) { this.vruntime = vruntime; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+
+    public int getQueueLevel() { return queueLevel; }
+    public int getQueueLevelTime() { return queueLevelTime; }
+    public void setQueueLevel(int level, int time) {
+        this.queueLevel = level;
+        this.queueLevelTime = time;
+    }
+
+    public long getAffinity() { return affinity; }
+    public void setAffinity(long affinity) { this.affinity = affinity; }
+    public boolean canRunOn(int cpu) { return (affinity >>> cpu & 1) != 0; }
+
+    public int getLastCpu() { return lastCpu; }
+    public void setLastCpu(int cpu) { this.lastCpu = cpu; }
 
     // Memoria.Gestión de la memoria
     public void allocateMemory(int base) { this.memoryBase = base; }
-    public void freeMemory() { this.memoryBase = -1; }
-    public boolean hasMemory() { return memoryBase != -1; }
+    public void allocatePages(PageTable table) { this.pageTable = table; }
+    public void freeMemory() {
+        this.memoryBase = -1;
+        this.pageTable = null;
+    }
+    public boolean hasMemory() { return memoryBase != -1 || pageTable != null; }
 
     // Ejecución
     public void reduceTime(int q) {
-        remainingTime = Math.max(0, remainingTime - q);
+        int ran = Math.min(q, remainingTime);
+        remainingTime -= ran;
+        // El tiempo virtual avanza más despacio cuanto mayor es el peso
+        vruntime += (long) ran * NICE_0_WEIGHT * NICE_0_WEIGHT / weight;
     }
 
     // Realizar un seguimiento de la primera ejecución para el tiempo de respuesta
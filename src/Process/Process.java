@@ -10,6 +10,12 @@ public class Process {
     private List<IORequest> ioRequests = new ArrayList<>();
     private int ioRequestIndex = 0;
 
+    // Accesos a archivos en puntos de la ráfaga: el despachador los ejecuta al llegar a su desplazamiento,
+    // y los fallos de caché que provoquen bloquean al proceso hasta que el disco los atienda
+    private List<Integer> accessOffsets = new ArrayList<>();
+    private List<Runnable> accesses = new ArrayList<>();
+    private int accessIndex = 0;
+
     public Process(int pid, int arrival, int burst, int memReq) {
         this.pcb = new PCB(pid, arrival, burst, memReq);
     }
@@ -20,8 +26,23 @@ public class Process {
         pcb.reduceTime(time);
     }
 
+    // Sin desplazamiento explícito la solicitud se emite a mitad de la ráfaga
     public void addIORequest(IORequest req) {
-        ioRequests.add(req);
+        if (req.getCpuOffset() < 0) {
+            req.setCpuOffset(pcb.getBurstTime() / 2);
+        }
+        // Mantener las solicitudes ordenadas por desplazamiento (a igual desplazamiento, por orden de alta)
+        int i = ioRequests.size();
+        while (i > ioRequestIndex && ioRequests.get(i - 1).getCpuOffset() > req.getCpuOffset()) {
+            i--;
+        }
+        ioRequests.add(i, req);
+    }
+
+    // Emitir la solicitud cuando el proceso lleve 'cpuOffset' unidades de CPU (como mucho, la ráfaga completa)
+    public void addIORequest(IORequest req, int cpuOffset) {
+        req.setCpuOffset(Math.max(0, Math.min(cpuOffset, pcb.getBurstTime())));
+        addIORequest(req);
     }
 
     public boolean hasIORequest() {
@@ -34,12 +55,38 @@ public class Process {
     }
 
     public boolean shouldRequestIO() {
-        // Solicitar E/S después de que se haya consumido la mitad del tiempo de ráfaga
-        if (!hasIORequest()) return false;
+        return getTimeUntilIO() == 0;
+    }
+
+    // Unidades de CPU que faltan para la próxima solicitud de E/S, o -1 si no queda ninguna
+    public int getTimeUntilIO() {
+        if (!hasIORequest()) return -1;
 
         int consumed = pcb.getBurstTime() - pcb.getRemainingTime();
-        int halfBurst = pcb.getBurstTime() / 2;
+        return Math.max(0, ioRequests.get(ioRequestIndex).getCpuOffset() - consumed);
+    }
 
-        return consumed >= halfBurst && ioRequestIndex == 0;
+    // Ejecutar 'access' cuando el proceso lleve 'cpuOffset' unidades de CPU (como mucho, la ráfaga completa)
+    public void addFileAccess(int cpuOffset, Runnable access) {
+        int offset = Math.max(0, Math.min(cpuOffset, pcb.getBurstTime()));
+        int i = accesses.size();
+        while (i > accessIndex && accessOffsets.get(i - 1) > offset) {
+            i--;
+        }
+        accessOffsets.add(i, offset);
+        accesses.add(i, access);
+    }
+
+    public Runnable getNextFileAccess() {
+        if (accessIndex == accesses.size()) return null;
+        return accesses.get(accessIndex++);
+    }
+
+    // Unidades de CPU que faltan para el próximo acceso a archivos, o -1 si no queda ninguno
+    public int getTimeUntilFileAccess() {
+        if (accessIndex == accesses.size()) return -1;
+
+        int consumed = pcb.getBurstTime() - pcb.getRemainingTime();
+        return Math.max(0, accessOffsets.get(accessIndex) - consumed);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package Scheduler;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import Process.Process;
+import Process.PCB;
+
+// Planificador completamente justo: siempre corre el proceso con menor tiempo virtual
+public class CFSScheduler implements Scheduler {
+
+    // TreeSet es un árbol rojo-negro: inserción y extracción del mínimo en O(log n)
+    private static final Comparator<Process> BY_VRUNTIME =
+            Comparator.<Process>comparingLong(p -> p.getPCB().getVruntime())
+                    .thenComparingInt(p -> p.getPCB().getPid());
+
+    private TreeSet<Process> tree = new TreeSet<>(BY_VRUNTIME);
+    private long totalWeight = 0;
+    private long minVruntime = 0;
+
+    private int targetLatency;   // periodo en el que cada proceso debería correr una vez
+    private int minGranularity;  // porción mínima, para no degradar con muchos procesos
+
+    public CFSScheduler(int targetLatency, int minGranularity) {
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+    }
+
+    public int getTargetLatency() { return targetLatency; }
+
+    private void enqueue(Process p) {
+        tree.add(p);
+        totalWeight += p.getPCB().getWeight();
+    }
+
+    @Override
+    public String getName() { return "CFS (Latencia objetivo: " + targetLatency + ")"; }
+
+    @Override
+    public void addProcess(Process p) {
+        PCB pcb = p.getPCB();
+        pcb.transitionTo(PCB.ProcessState.READY);
+        // Un proceso nuevo no puede adelantar a los que ya esperan
+        pcb.setVruntime(Math.max(pcb.getVruntime(), minVruntime));
+        enqueue(p);
+    }
+
+    @Override
+    public Process getNextProcess() {
+        Process p = tree.pollFirst();
+        if (p == null) return null;
+
+        totalWeight -= p.getPCB().getWeight();
+        minVruntime = Math.max(minVruntime, p.getPCB().getVruntime());
+        return p;
+    }
+
+    @Override
+    public boolean hasProcess() {
+        return !tree.isEmpty();
+    }
+
+    // El tiempo virtual ya se actualizó al ejecutar (PCB.reduceTime), basta reinsertar
+    @Override
+    public void requeue(Process p) {
+        enqueue(p);
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    // Se roba el de mayor tiempo virtual. El tiempo virtual se deja relativo al mínimo de esta cola;
+    // acceptStolen lo vuelve absoluto sobre el mínimo de la otra CPU, así conserva su retraso
+    @Override
+    public Process steal(Predicate<Process> allowed) {
+        Iterator<Process> it = tree.descendingIterator();
+        while (it.hasNext()) {
+            Process p = it.next();
+            if (!allowed.test(p)) continue;
+
+            it.remove();
+            PCB pcb = p.getPCB();
+            totalWeight -= pcb.getWeight();
+            pcb.setVruntime(Math.max(0, pcb.getVruntime() - minVruntime));
+            return p;
+        }
+        return null;
+    }
+
+    @Override
+    public void acceptStolen(Process p) {
+        PCB pcb = p.getPCB();
+        pcb.setVruntime(pcb.getVruntime() + minVruntime);
+        enqueue(p);
+    }
+
+    // Al despertar de E/S se le da como mucho medio periodo de ventaja sobre el mínimo
+    @Override
+    public void onIOComplete(Process p) {
+        PCB pcb = p.getPCB();
+        long credit = (long) targetLatency * PCB.NICE_0_WEIGHT / 2;
+        pcb.setVruntime(Math.max(pcb.getVruntime(), minVruntime - credit));
+        enqueue(p);
+    }
+
+    // Porción proporcional al peso dentro del periodo objetivo
+    @Override
+    public int getTimeSlice(Process p) {
+        int weight = p.getPCB().getWeight();
+        long slice = (long) targetLatency * weight / (totalWeight + weight);
+        return (int) Math.max(minGranularity, slice);
+    }
+}
@@ -0,0 +1,68 @@
+package Scheduler;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import Process.Process;
+import Process.PCB;
+
+// FCFS seguro entre hilos: varias CPUs o productores pueden compartir la misma cola de listos,
+// p. ej. new Dispatcher(() -> compartido, n, ...) da una única cola global para n CPUs.
+// Como las demás colas de listos no tiene límite: el anillo es el camino rápido y lo que no cabe
+// pasa a una cola enlazada
+public class ConcurrentFCFSScheduler implements Scheduler {
+
+    protected final ProcessRing queue;
+
+    // Mientras el desbordamiento tenga procesos los productores siguen encolando en él, así nadie
+    // adelanta a los que ya esperan ahí (el orden solo es ambiguo entre productores simultáneos)
+    private final ConcurrentLinkedQueue<Process> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+
+    public ConcurrentFCFSScheduler() { this(4096); }
+
+    public ConcurrentFCFSScheduler(int capacity) {
+        this.queue = new ProcessRing(capacity);
+    }
+
+    @Override
+    public String getName() { return "FCFS concurrente"; }
+
+    @Override
+    public void addProcess(Process p) {
+        p.getPCB().transitionTo(PCB.ProcessState.READY);
+        enqueue(p);
+    }
+
+    @Override
+    public Process getNextProcess() {
+        // Lo que hay en el anillo llegó antes que lo desbordado
+        Process p = queue.poll();
+        if (p == null && (p = overflow.poll()) != null) {
+            overflowSize.decrementAndGet();
+        }
+        return p;
+    }
+
+    @Override
+    public boolean hasProcess() {
+        return !queue.isEmpty() || !overflow.isEmpty();
+    }
+
+    @Override
+    public void requeue(Process p) {
+        enqueue(p);
+    }
+
+    @Override
+    public int size() {
+        return queue.size() + overflowSize.get();
+    }
+
+    private void enqueue(Process p) {
+        if (!overflow.isEmpty() || !queue.offer(p)) {
+            overflowSize.incrementAndGet();
+            overflow.add(p);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package Scheduler;
+
+import Process.Process;
+
+// Round robin seguro entre hilos sobre la misma cola sin bloqueos
+public class ConcurrentRoundRobinScheduler extends ConcurrentFCFSScheduler {
+
+    private int quantum;
+
+    public ConcurrentRoundRobinScheduler(int q) { this.quantum = q; }
+
+    public ConcurrentRoundRobinScheduler(int q, int capacity) {
+        super(capacity);
+        this.quantum = q;
+    }
+
+    public int getQuantum() { return quantum; }
+
+    @Override
+    public int getTimeSlice(Process p) { return quantum; }
+
+    @Override
+    public String getName() { return "Round Robin concurrente (Quantum: " + quantum + ")"; }
+}
@@ -1,13 +1,17 @@
 package Scheduler;
 
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Queue;
+import java.util.function.Predicate;
 import Process.Process;
 import Process.PCB;
 
 public class FCFSScheduler implements Scheduler {
 
-    private Queue<Process> queue = new LinkedList<>();
+    private LinkedList<Process> queue = new LinkedList<>();
+
+    @Override
+    public String getName() { return "FCFS"; }
 
     @Override
     public void addProcess(Process p) {
@@ -29,4 +33,23 @@ public class FCFSScheduler implements Scheduler {
     public void requeue(Process p) {
         queue.add(p);
     }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    // El último de la cola es el que más tardaría en correr
+    @Override
+    public Process steal(Predicate<Process> allowed) {
+        Iterator<Process> it = queue.descendingIterator();
+        while (it.hasNext()) {
+            Process p = it.next();
+            if (allowed.test(p)) {
+                it.remove();
+                return p;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,145 @@
+package Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+import Process.Process;
+import Process.PCB;
+
+// Cola multinivel con retroalimentación: el nivel 0 es el de mayor prioridad.
+// El nivel de cada proceso va en su PCB, así lo conserva al migrar a otra CPU y no queda nada que limpiar al terminar
+public class MLFQScheduler implements Scheduler {
+
+    private ArrayDeque<Process>[] levels;
+    private int[] quantums;
+    private int nonEmpty = 0; // bit i encendido si el nivel i tiene procesos
+
+    private int boostInterval;
+    private int lastBoost = 0;
+    private int currentTime = 0;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MLFQScheduler(int[] quantums, int boostInterval) {
+        if (quantums.length == 0 || quantums.length > Integer.SIZE) {
+            throw new IllegalArgumentException("MLFQ admite entre 1 y " + Integer.SIZE + " niveles");
+        }
+        this.quantums = quantums.clone();
+        this.boostInterval = boostInterval;
+        this.levels = new ArrayDeque[quantums.length];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new ArrayDeque<>();
+        }
+    }
+
+    public int getLevelCount() { return levels.length; }
+
+    private void enqueue(Process p, int level) {
+        p.getPCB().setQueueLevel(level, currentTime);
+        levels[level].add(p);
+        nonEmpty |= 1 << level;
+    }
+
+    // Un nivel fijado antes del último impulso ya no vale: el impulso sube a todos, también a los que
+    // estaban en ejecución o esperando E/S
+    private int levelOf(Process p) {
+        PCB pcb = p.getPCB();
+        return pcb.getQueueLevelTime() < lastBoost ? 0 : Math.min(pcb.getQueueLevel(), levels.length - 1);
+    }
+
+    @Override
+    public String getName() { return "MLFQ (" + levels.length + " niveles)"; }
+
+    @Override
+    public void addProcess(Process p) {
+        p.getPCB().transitionTo(PCB.ProcessState.READY);
+        enqueue(p, 0);
+    }
+
+    @Override
+    public Process getNextProcess() {
+        if (nonEmpty == 0) return null;
+
+        // Nivel no vacío de mayor prioridad en O(1)
+        int level = Integer.numberOfTrailingZeros(nonEmpty);
+        Process p = levels[level].poll();
+        if (levels[level].isEmpty()) {
+            nonEmpty &= ~(1 << level);
+        }
+        return p;
+    }
+
+    @Override
+    public boolean hasProcess() {
+        return nonEmpty != 0;
+    }
+
+    @Override
+    public void requeue(Process p) {
+        enqueue(p, levelOf(p));
+    }
+
+    @Override
+    public int size() {
+        int n = 0;
+        for (ArrayDeque<Process> level : levels) {
+            n += level.size();
+        }
+        return n;
+    }
+
+    // Se roba el que más tardaría en correr aquí: el último del nivel no vacío más bajo.
+    // La CPU que lo recibe lo encola en el mismo nivel (acceptStolen → requeue)
+    @Override
+    public Process steal(Predicate<Process> allowed) {
+        for (int bits = nonEmpty; bits != 0; bits &= ~Integer.highestOneBit(bits)) {
+            int level = Integer.numberOfTrailingZeros(Integer.highestOneBit(bits));
+            Iterator<Process> it = levels[level].descendingIterator();
+            while (it.hasNext()) {
+                Process p = it.next();
+                if (!allowed.test(p)) continue;
+
+                it.remove();
+                if (levels[level].isEmpty()) {
+                    nonEmpty &= ~(1 << level);
+                }
+                return p;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getTimeSlice(Process p) {
+        return quantums[levelOf(p)];
+    }
+
+    // Agotó el quantum: baja un nivel
+    @Override
+    public void onSliceExpired(Process p) {
+        enqueue(p, Math.min(levelOf(p) + 1, levels.length - 1));
+    }
+
+    // Cedió la CPU por E/S: sube un nivel
+    @Override
+    public void onIOComplete(Process p) {
+        enqueue(p, Math.max(levelOf(p) - 1, 0));
+    }
+
+    // Impulso periódico: todos vuelven al nivel 0 para evitar inanición
+    @Override
+    public void onTimeAdvance(int currentTime) {
+        this.currentTime = currentTime;
+        if (boostInterval <= 0 || currentTime - lastBoost < boostInterval) return;
+        lastBoost = currentTime;
+
+        // Los niveles guardados en los PCB quedan anulados por lastBoost
+        for (int level = 1; level < levels.length; level++) {
+            levels[0].addAll(levels[level]);
+            levels[level].clear();
+        }
+        nonEmpty = levels[0].isEmpty() ? 0 : 1;
+
+        System.out.println("⬆️  Impulso de prioridad MLFQ (TIEMPO AHORA: " + currentTime + ")");
+    }
+}
@@ -0,0 +1,65 @@
+package Scheduler;
+
+import java.util.function.Predicate;
+
+import Process.Process;
+import Process.PCB;
+
+// Planificación por prioridad no expropiativa con envejecimiento
+public class PriorityScheduler implements Scheduler {
+
+    private ProcessHeap heap = new ProcessHeap();
+    private int agingInterval; // cada cuántas unidades de espera se gana un nivel de prioridad
+    private int currentTime = 0;
+
+    public PriorityScheduler(int agingInterval) {
+        this.agingInterval = agingInterval;
+    }
+
+    // Prioridad efectiva = prioridad - espera / intervalo. Como todos envejecen al mismo ritmo,
+    // ordenar por prioridad * intervalo + llegada a la cola equivale y la clave no cambia con el tiempo
+    private long key(Process p) {
+        int priority = p.getPCB().getPriority();
+        if (agingInterval <= 0) return priority;
+        return (long) priority * agingInterval + currentTime;
+    }
+
+    @Override
+    public String getName() { return "Prioridad (envejecimiento cada " + agingInterval + ")"; }
+
+    @Override
+    public void addProcess(Process p) {
+        p.getPCB().transitionTo(PCB.ProcessState.READY);
+        heap.add(key(p), p);
+    }
+
+    @Override
+    public Process getNextProcess() {
+        return heap.poll();
+    }
+
+    @Override
+    public boolean hasProcess() {
+        return !heap.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public Process steal(Predicate<Process> allowed) {
+        return heap.removeMax(allowed);
+    }
+
+    @Override
+    public void requeue(Process p) {
+        heap.add(key(p), p);
+    }
+
+    @Override
+    public void onTimeAdvance(int currentTime) {
+        this.currentTime = currentTime;
+    }
+}
@@ -0,0 +1,105 @@
+package Scheduler;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import Process.Process;
+
+// Montículo binario mínimo con claves long primitivas (sin boxing); a igual clave sale el más antiguo
+public class ProcessHeap {
+    private long[] keys = new long[16];
+    private long[] order = new long[16];
+    private Process[] items = new Process[16];
+    private int size = 0;
+    private long sequence = 0;
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    public Process peek() { return size == 0 ? null : items[0]; }
+    public long peekKey() { return keys[0]; }
+
+    public void add(long key, Process p) {
+        if (size == items.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            order = Arrays.copyOf(order, capacity);
+            items = Arrays.copyOf(items, capacity);
+        }
+        siftUp(size++, key, sequence++, p);
+    }
+
+    public Process poll() {
+        if (size == 0) return null;
+        return removeAt(0);
+    }
+
+    // Quitar el de mayor clave (a igual clave, el más reciente) entre los que cumplen 'allowed'; O(n)
+    public Process removeMax(Predicate<Process> allowed) {
+        int max = -1;
+        for (int i = 0; i < size; i++) {
+            if (allowed.test(items[i]) && (max == -1 || less(keys[max], order[max], keys[i], order[i]))) {
+                max = i;
+            }
+        }
+        return max == -1 ? null : removeAt(max);
+    }
+
+    // El último elemento ocupa el hueco y baja o sube hasta su posición
+    private Process removeAt(int i) {
+        Process removed = items[i];
+
+        int last = --size;
+        long key = keys[last];
+        long seq = order[last];
+        Process p = items[last];
+        items[last] = null;
+
+        if (i < size && siftDown(i, key, seq, p) == i) {
+            siftUp(i, key, seq, p);
+        }
+        return removed;
+    }
+
+    private void siftUp(int i, long key, long seq, Process p) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(key, seq, keys[parent], order[parent])) break;
+            move(parent, i);
+            i = parent;
+        }
+        set(i, key, seq, p);
+    }
+
+    private int siftDown(int i, long key, long seq, Process p) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(keys[right], order[right], keys[child], order[child])) {
+                child = right;
+            }
+            if (!less(keys[child], order[child], key, seq)) break;
+            move(child, i);
+            i = child;
+        }
+        set(i, key, seq, p);
+        return i;
+    }
+
+    private static boolean less(long k1, long s1, long k2, long s2) {
+        return k1 < k2 || (k1 == k2 && s1 < s2);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        order[to] = order[from];
+        items[to] = items[from];
+    }
+
+    private void set(int i, long key, long seq, Process p) {
+        keys[i] = key;
+        order[i] = seq;
+        items[i] = p;
+    }
+}
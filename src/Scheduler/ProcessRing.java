@@ -0,0 +1,91 @@
+package Scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import Process.Process;
+
+// Cola circular acotada sin bloqueos para varios productores y consumidores (algoritmo de Vyukov).
+// Cada celda lleva un número de secuencia que indica si está libre para escribir la vuelta 'pos'
+// o lista para leerla; los hilos solo compiten por un CAS sobre head o tail y no se reserva memoria.
+// Solo se espera activamente en la ventana entre el CAS de otro hilo y la publicación de su celda
+public class ProcessRing {
+    private final Process[] items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // próxima posición a leer
+    private final AtomicLong tail = new AtomicLong(); // próxima posición a escribir
+
+    public ProcessRing(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidad fuera de rango: " + capacity);
+        }
+        // Potencia de dos para calcular la celda con una máscara
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.items = new Process[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() { return items.length; }
+
+    // false solo si la cola está llena
+    public boolean offer(Process p) {
+        long pos = tail.get();
+        while (true) {
+            int i = (int) pos & mask;
+            long diff = sequences.get(i) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items[i] = p;
+                    sequences.set(i, pos + 1); // publica el elemento a los lectores
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                if (pos - head.get() >= items.length) return false;
+                // Un consumidor ya avanzó head pero aún no libera la celda
+                Thread.onSpinWait();
+                pos = tail.get();
+            } else {
+                pos = tail.get(); // otro productor se adelantó
+            }
+        }
+    }
+
+    // null solo si la cola está vacía
+    public Process poll() {
+        long pos = head.get();
+        while (true) {
+            int i = (int) pos & mask;
+            long diff = sequences.get(i) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Process p = items[i];
+                    items[i] = null;
+                    sequences.set(i, pos + items.length); // libre para la siguiente vuelta
+                    return p;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                if (tail.get() <= pos) return null;
+                // Un productor ya reservó la celda pero aún no publica el elemento
+                Thread.onSpinWait();
+                pos = head.get();
+            } else {
+                pos = head.get(); // otro consumidor se adelantó
+            }
+        }
+    }
+
+    // Aproximado mientras otros hilos operan
+    public int size() {
+        long n = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(n, items.length));
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+}
@@ -1,20 +1,27 @@
 package Scheduler;
 
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Queue;
+import java.util.function.Predicate;
 
 import Process.Process;
 import Process.PCB;
 
 public class RoundRobinScheduler implements Scheduler {
 
-    private Queue<Process> queue = new LinkedList<>();
+    private LinkedList<Process> queue = new LinkedList<>();
     private int quantum;
 
     public RoundRobinScheduler(int q) { this.quantum = q; }
 
     public int getQuantum() { return quantum; }
 
+    @Override
+    public int getTimeSlice(Process p) { return quantum; }
+
+    @Override
+    public String getName() { return "Round Robin (Quantum: " + quantum + ")"; }
+
     @Override
     public void addProcess(Process p) {
         p.getPCB().transitionTo(PCB.ProcessState.READY);
@@ -35,4 +42,23 @@ public class RoundRobinScheduler implements Scheduler {
     public void requeue(Process p) {
         queue.add(p);
     }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    // El último de la cola es el que más tardaría en correr
+    @Override
+    public Process steal(Predicate<Process> allowed) {
+        Iterator<Process> it = queue.descendingIterator();
+        while (it.hasNext()) {
+            Process p = it.next();
+            if (allowed.test(p)) {
+                it.remove();
+                return p;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,46 @@
+package Scheduler;
+
+import java.util.function.Predicate;
+
+import Process.Process;
+import Process.PCB;
+
+// Shortest-job-first no expropiativo: sale el proceso con menos tiempo restante
+public class SJFScheduler implements Scheduler {
+
+    protected ProcessHeap heap = new ProcessHeap();
+
+    @Override
+    public String getName() { return "SJF"; }
+
+    @Override
+    public void addProcess(Process p) {
+        p.getPCB().transitionTo(PCB.ProcessState.READY);
+        heap.add(p.getPCB().getRemainingTime(), p);
+    }
+
+    @Override
+    public Process getNextProcess() {
+        return heap.poll();
+    }
+
+    @Override
+    public boolean hasProcess() {
+        return !heap.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public Process steal(Predicate<Process> allowed) {
+        return heap.removeMax(allowed);
+    }
+
+    @Override
+    public void requeue(Process p) {
+        heap.add(p.getPCB().getRemainingTime(), p);
+    }
+}
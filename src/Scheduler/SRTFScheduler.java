@@ -0,0 +1,18 @@
+package Scheduler;
+
+import Process.Process;
+
+// Shortest-remaining-time-first: SJF expropiativo
+public class SRTFScheduler extends SJFScheduler {
+
+    @Override
+    public String getName() { return "SRTF"; }
+
+    @Override
+    public boolean isPreemptive() { return true; }
+
+    @Override
+    public boolean shouldPreempt(Process running) {
+        return !heap.isEmpty() && heap.peekKey() < running.getPCB().getRemainingTime();
+    }
+}
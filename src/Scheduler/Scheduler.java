@@ -1,4 +1,6 @@
 package Scheduler;
+import java.util.function.Predicate;
+
 import Process.Process;
 
 public interface Scheduler {
@@ -6,4 +8,35 @@ public interface Scheduler {
     Process getNextProcess();
     boolean hasProcess();
     void requeue(Process p);
+
+    // Procesos listos en la cola, para repartir la carga entre CPUs
+    int size();
+
+    // Nombre para los mensajes del despachador
+    default String getName() { return getClass().getSimpleName(); }
+
+    // Tiempo máximo que puede correr el proceso antes de ser expropiado
+    default int getTimeSlice(Process p) { return Integer.MAX_VALUE; }
+
+    // El proceso agotó su porción de tiempo sin terminar
+    default void onSliceExpired(Process p) { requeue(p); }
+
+    // El proceso vuelve de una operación de E/S
+    default void onIOComplete(Process p) { requeue(p); }
+
+    // Planificadores que pueden expulsar al proceso en ejecución cuando otro pasa a listo
+    default boolean isPreemptive() { return false; }
+
+    // ¿Debe el proceso en ejecución ceder la CPU a alguno de los listos?
+    default boolean shouldPreempt(Process running) { return false; }
+
+    // Avisar al planificador del tiempo actual (envejecimiento, impulsos periódicos...)
+    default void onTimeAdvance(int currentTime) { }
+
+    // Robo de trabajo: quitar de la cola un proceso que cumpla 'allowed' para que lo ejecute otra CPU,
+    // preferiblemente el que más tardaría en correr aquí; null si no hay ninguno
+    default Process steal(Predicate<Process> allowed) { return null; }
+
+    // Encolar un proceso robado a otra CPU: ya está listo y conserva su estado de planificación
+    default void acceptStolen(Process p) { requeue(p); }
 }
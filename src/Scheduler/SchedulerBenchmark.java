@@ -0,0 +1,179 @@
+package Scheduler;
+
+import Process.Process;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+// Rendimiento de las colas de listos compartidas entre hilos:
+//   java Scheduler.SchedulerBenchmark [operaciones por hilo]
+// Primero comprueba que ConcurrentFCFSScheduler conserva el orden FIFO por encima de la capacidad del anillo
+// y que entrega cada proceso exactamente una vez con varios productores y consumidores; después mide pares encolar/desencolar con 1, 4, 16 y 64 hilos frente a
+// ConcurrentLinkedQueue y una LinkedList sincronizada. Con menos núcleos que hilos mide sobre todo
+// el coste de la sobresuscripción, no la contención real
+public class SchedulerBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    // Lo mínimo del contrato de Scheduler que usa la prueba
+    private interface ReadyQueue {
+        void requeue(Process p);
+        Process getNextProcess();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        beyondCapacity(16, 1000);
+        exactlyOnce(8, 50_000);
+
+        System.out.println("Hilos\tAnillo (Mops/s)\tConcurrentLinkedQueue\tLinkedList sincronizada");
+        for (int threads : THREADS) {
+            // Una ronda de calentamiento y la medida
+            double ring = 0;
+            double clq = 0;
+            double locked = 0;
+            for (int round = 0; round < 2; round++) {
+                ring = measure(threads, operations, () -> scheduler(new ConcurrentFCFSScheduler(4096)));
+                clq = measure(threads, operations, () -> queue(new ConcurrentLinkedQueue<>()));
+                locked = measure(threads, operations, () -> synchronizedQueue(new LinkedList<>()));
+            }
+            System.out.printf("%d\t%.2f\t\t%.2f\t\t\t%.2f%n", threads, ring, clq, locked);
+        }
+    }
+
+    private static ReadyQueue scheduler(Scheduler s) {
+        return new ReadyQueue() {
+            public void requeue(Process p) { s.requeue(p); }
+            public Process getNextProcess() { return s.getNextProcess(); }
+        };
+    }
+
+    private static ReadyQueue queue(Queue<Process> q) {
+        return new ReadyQueue() {
+            public void requeue(Process p) { q.add(p); }
+            public Process getNextProcess() { return q.poll(); }
+        };
+    }
+
+    private static ReadyQueue synchronizedQueue(Queue<Process> q) {
+        return new ReadyQueue() {
+            public synchronized void requeue(Process p) { q.add(p); }
+            public synchronized Process getNextProcess() { return q.poll(); }
+        };
+    }
+
+    // Cada hilo encola un proceso y desencola uno (de cualquiera), 'operations' veces; millones de pares por segundo
+    private static double measure(int threads, int operations, Supplier<ReadyQueue> factory)
+            throws InterruptedException {
+        ReadyQueue queue = factory.get();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            Process mine = new Process(t + 1, 0, 1, 1);
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                await(go);
+                for (int i = 0; i < operations; i++) {
+                    queue.requeue(mine);
+                    while (queue.getNextProcess() == null) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread w : workers) {
+            w.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) threads * operations / elapsed * 1000;
+    }
+
+    // Un solo hilo encola muchos más procesos que la capacidad, intercalando extracciones: deben salir todos y en orden
+    private static void beyondCapacity(int capacity, int total) {
+        ConcurrentFCFSScheduler queue = new ConcurrentFCFSScheduler(capacity);
+        int next = 0;
+        for (int pid = 0; pid < total; pid++) {
+            queue.requeue(new Process(pid, 0, 1, 1));
+            if (pid % 3 == 0) {
+                next = expectNext(queue, next);
+            }
+        }
+        if (queue.size() != total - next) {
+            throw new IllegalStateException("Tamaño " + queue.size() + ", se esperaban " + (total - next));
+        }
+        while (queue.hasProcess()) {
+            next = expectNext(queue, next);
+        }
+        if (next != total) {
+            throw new IllegalStateException("Salieron " + next + " de " + total + " procesos");
+        }
+        System.out.println("Por encima de la capacidad: " + total + " procesos en un anillo de " + capacity +
+                ", orden FIFO conservado");
+    }
+
+    private static int expectNext(ConcurrentFCFSScheduler queue, int expected) {
+        Process p = queue.getNextProcess();
+        if (p == null || p.getPCB().getPid() != expected) {
+            throw new IllegalStateException("Se esperaba el PID " + expected + " y salió " +
+                    (p == null ? "ninguno" : p.getPCB().getPid()));
+        }
+        return expected + 1;
+    }
+
+    // Productores y consumidores a partes iguales; cada PID debe salir una sola vez.
+    // El anillo es mucho menor que el total, así que buena parte pasa por el desbordamiento
+    private static void exactlyOnce(int producers, int perProducer) throws InterruptedException {
+        ConcurrentFCFSScheduler shared = new ConcurrentFCFSScheduler(64);
+        int total = producers * perProducer;
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        Thread[] threads = new Thread[2 * producers];
+
+        for (int t = 0; t < producers; t++) {
+            int first = t * perProducer;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    shared.requeue(new Process(first + i, 0, 1, 1));
+                }
+            });
+            threads[producers + t] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    Process p;
+                    while ((p = shared.getNextProcess()) == null) {
+                        Thread.onSpinWait();
+                    }
+                    seen.incrementAndGet(p.getPCB().getPid());
+                }
+            });
+        }
+        for (Thread t : threads) t.start();
+        for (Thread t : threads) t.join();
+
+        for (int pid = 0; pid < total; pid++) {
+            if (seen.get(pid) != 1) {
+                throw new IllegalStateException("PID " + pid + " entregado " + seen.get(pid) + " veces");
+            }
+        }
+        System.out.println("Exactamente una vez: " + total + " procesos, " + producers + " productores y " +
+                producers + " consumidores");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}